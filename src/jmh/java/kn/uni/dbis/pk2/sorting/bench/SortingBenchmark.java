@@ -0,0 +1,100 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Timeout;
+import org.openjdk.jmh.annotations.Warmup;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.DataOrdering;
+import kn.uni.dbis.pk2.sorting.HeadlessDataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+import kn.uni.dbis.pk2.sorting.SortingAlgorithm;
+
+/**
+ * JMH benchmark of all sorting algorithms on all data orderings. The input of every trial is generated once from
+ * a fixed seed, every invocation sorts a fresh copy of it in a {@link HeadlessDataModel}.
+ *
+ * <p>Build with {@code mvn -P jmh package} and run e.g.
+ * {@code java -jar target/benchmarks.jar -p algorithm=QUICKSORT_MED3,INTROSORT,MERGESORT_NATURAL2}.
+ * Without restrictions, the quadratic (and worse) algorithms take very long on the larger sizes; iterations
+ * exceeding the {@link Timeout} are interrupted and reported as failed.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Timeout(time = 60)
+@Fork(1)
+public class SortingBenchmark {
+
+    /** Seed of the random number generator for the inputs. */
+    private static final long SEED = 42;
+
+    /** Sorting algorithm, all constants if not specified. */
+    @Param
+    private SortingAlgorithm algorithm;
+
+    /** Data ordering of the input, all constants if not specified. */
+    @Param
+    private DataOrdering ordering;
+
+    /** Number of values to sort. */
+    @Param({ "1000", "10000", "100000" })
+    private int size;
+
+    /** Pre-generated input. */
+    private int[] input;
+
+    /** Sorter instance. */
+    private Sorter sorter;
+
+    /** Data model holding a fresh copy of the input. */
+    private DataModel model;
+
+    /**
+     * Generates the input of the trial.
+     */
+    @Setup(Level.Trial)
+    public void generate() {
+        this.input = new int[this.size];
+        this.ordering.fill(this.input, this.size, new Random(SEED));
+        this.sorter = this.algorithm.newInstance();
+    }
+
+    /**
+     * Copies the input into a new data model before every invocation.
+     */
+    @Setup(Level.Invocation)
+    public void copy() {
+        this.model = new HeadlessDataModel(this.input.clone());
+        this.model.setValueBound(this.size);
+    }
+
+    /**
+     * Sorts the copy of the input.
+     *
+     * @return the data model, so that the sorted values are not optimized away
+     * @throws InterruptedException if the iteration timed out
+     */
+    @Benchmark
+    public DataModel sort() throws InterruptedException {
+        this.sorter.sort(this.model);
+        return this.model;
+    }
+}
@@ -0,0 +1,97 @@
+package kn.uni.dbis.pk2.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Growable stack of highlighted areas, stored as consecutive start and end positions in a single {@code int[]},
+ * so that pushing, popping and changing an area never allocates. A stack is only modified by a single thread,
+ * other threads may {@link #copyTo(int[], int, int) copy} it without synchronization and then see a slightly
+ * outdated state.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+final class AreaStack {
+
+    /** Start and end positions of the areas, from bottom to top. */
+    private int[] areas = new int[32];
+
+    /** Number of areas on the stack. */
+    private int size;
+
+    /**
+     * Pushes a new area onto the stack.
+     *
+     * @param start start of the area
+     * @param end end of the area
+     */
+    void push(final int start, final int end) {
+        final int pos = 2 * this.size;
+        if (pos == this.areas.length) {
+            this.areas = Arrays.copyOf(this.areas, 2 * pos);
+        }
+        this.areas[pos] = start;
+        this.areas[pos + 1] = end;
+        this.size++;
+    }
+
+    /**
+     * Changes an area on the stack.
+     *
+     * @param stackPos position of the area counted from the top of the stack
+     * @param start new start of the area
+     * @param end new end of the area
+     * @throws IndexOutOfBoundsException if there is no area at the given position
+     */
+    void change(final int stackPos, final int start, final int end) {
+        if (stackPos < 0 || stackPos >= this.size) {
+            throw new IndexOutOfBoundsException("no area at stack position " + stackPos);
+        }
+        final int pos = 2 * (this.size - 1 - stackPos);
+        this.areas[pos] = start;
+        this.areas[pos + 1] = end;
+    }
+
+    /**
+     * Removes the top-most area from the stack.
+     *
+     * @throws IndexOutOfBoundsException if the stack is empty
+     */
+    void pop() {
+        if (this.size == 0) {
+            throw new IndexOutOfBoundsException("no area to remove");
+        }
+        this.size--;
+    }
+
+    /**
+     * Removes all areas from the stack.
+     */
+    void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of areas on the stack.
+     *
+     * @return number of areas
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Copies the lowest areas on the stack into the given array.
+     *
+     * @param out output array, must have space for {@code 2 * (pos + max)} positions
+     * @param pos number of areas already in the output array
+     * @param max maximum number of areas to copy
+     * @return number of copied areas
+     */
+    int copyTo(final int[] out, final int pos, final int max) {
+        // read the fields only once, they may be changed concurrently by the owning thread
+        final int[] current = this.areas;
+        final int n = Math.max(0, Math.min(Math.min(this.size, max), current.length / 2));
+        System.arraycopy(current, 0, out, 2 * pos, 2 * n);
+        return n;
+    }
+}
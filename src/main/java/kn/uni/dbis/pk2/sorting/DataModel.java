@@ -1,35 +1,109 @@
 package kn.uni.dbis.pk2.sorting;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Data model for sorting algorithms, contains the values to sort and
  * additional highlighting information for the visualization.
  *
+ * <p>The model is mutated only by the sorting thread. The visualization never reads it directly, it requests
+ * {@link Snapshot snapshots} that the sorting thread publishes between two operations. Snapshots are triple
+ * buffered, so neither side ever waits for the other.</p>
+ *
  * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
  */
 public class DataModel {
 
-    /** Number of milliseconds to wait between operations. */
+    /** Speed setting, the waiting time between operations grows exponentially with it. */
     private final AtomicInteger sleepTime;
 
     /** Distribution of wait time between comparisons and swaps. */
     private final AtomicInteger distribution;
 
+    /** Pacer for the operations. */
+    private final Pacer pacer = new Pacer();
+
     /** Values to sort. */
     private final int[] values;
 
     /** Copy of values to sort. */
-    private int[] copy;
+    private volatile int[] copy;
+
+    /** Default maximum number of areas that are rendered. */
+    public static final int DEFAULT_MAX_RENDERED_AREAS = 1 << 12;
+
+    /** Peak number of values held in auxiliary arrays created through this model. */
+    private volatile long peakAuxiliary;
+
+    /** Number of values currently held in buffers created through this model. */
+    private final AtomicLong buffered = new AtomicLong();
 
-    /** Highlighted areas of interest. */
-    private final List<int[]> areas = new ArrayList<>();
+    /** Highlighted areas of interest, one stack per sorting thread with the owner's stack first. */
+    private final Queue<AreaStack> areaStacks = new ConcurrentLinkedQueue<>();
+
+    /** Highlighted areas of interest of the owning thread. */
+    private final AreaStack ownerAreas = new AreaStack();
+
+    /** Maximum number of areas that are rendered. */
+    private volatile int maxRenderedAreas = DEFAULT_MAX_RENDERED_AREAS;
 
     /** Special value (row) to highlight. */
     private int specialValue = -1;
 
+    /** Exclusive upper bound of the values to sort, {@code -1} if it is unknown. */
+    private volatile int valueBound = -1;
+
+    /**
+     * Thread owning the counter block {@link #ownerCounts} and area stack {@link #ownerAreas},
+     * {@code null} until the first counted or highlighting operation.
+     */
+    private volatile Thread owner;
+
+    /** Operation counters of the owning thread. */
+    private final OperationCounts ownerCounts = new OperationCounts();
+
+    /** Operation counters of all other threads that sorted values of this data model. */
+    private final Queue<OperationCounts> otherCounts = new ConcurrentLinkedQueue<>();
+
+    /** Operation counters of the current thread if it is not the owner. */
+    private final ThreadLocal<OperationCounts> localCounts = ThreadLocal.withInitial(() -> {
+        final OperationCounts counts = new OperationCounts();
+        this.otherCounts.add(counts);
+        return counts;
+    });
+
+    /** Highlighted areas of the current thread if it is not the owner. */
+    private final ThreadLocal<AreaStack> localAreas = ThreadLocal.withInitial(() -> {
+        final AreaStack stack = new AreaStack();
+        this.areaStacks.add(stack);
+        return stack;
+    });
+
+    /** Snapshot that is filled by the sorting thread on the next publication. */
+    private Snapshot back = new Snapshot();
+
+    /** Most recently published snapshot. */
+    private final AtomicReference<Snapshot> latest = new AtomicReference<>(new Snapshot());
+
+    /** Snapshot currently owned by the rendering thread. */
+    private Snapshot front = new Snapshot();
+
+    /** Number of published snapshots. */
+    private long published;
+
+    /** Flag indicating that the rendering thread requested a new snapshot. */
+    private final AtomicBoolean requested = new AtomicBoolean();
+
+    /** Sorting thread currently pausing, woken up for publishing requested snapshots. */
+    private volatile Thread sleeper;
+
     /**
      * Creates a new data model.
      *
@@ -41,35 +115,76 @@ public class DataModel {
         this.values = values;
         this.sleepTime = sleepTime;
         this.distribution = timeDistribution;
+        this.areaStacks.add(this.ownerAreas);
     }
 
     /**
-     * Adds an area of interest.
+     * Adds an area of interest. Every thread sorting values of this model has its own stack of areas,
+     * so that parallel sorting algorithms can highlight the range each thread works on.
      * @param start start of the area
      * @param end end of the area
      */
-    public synchronized void addArea(final int start, final int end) {
-        areas.add(new int[] { start, end });
+    public void addArea(final int start, final int end) {
+        areas().push(start, end);
     }
 
     /**
      * Changes the last added area.
      *
-     * @param stackPos position of the area on the stack
+     * @param stackPos position of the area on the current thread's stack
      * @param start new start position
      * @param end new end position
      */
-    public synchronized void changeArea(final int stackPos, final int start, final int end) {
-        final int[] last = areas.get(areas.size() - 1 - stackPos);
-        last[0] = start;
-        last[1] = end;
+    public void changeArea(final int stackPos, final int start, final int end) {
+        areas().change(stackPos, start, end);
+    }
+
+    /**
+     * Removes the last added area of interest of the current thread.
+     */
+    public void removeArea() {
+        areas().pop();
+    }
+
+    /**
+     * Removes all areas of interest of all threads.
+     */
+    public void clearAreas() {
+        for (final AreaStack stack : this.areaStacks) {
+            stack.clear();
+        }
     }
 
     /**
-     * Removes the last added area of interest.
+     * Returns a copy of the current areas of interest, as consecutive start and end positions from the lowest
+     * to the top-most area on the stack, with the stacks of all threads concatenated.
+     *
+     * @return areas of interest
      */
-    public synchronized void removeArea() {
-        areas.remove(areas.size() - 1);
+    public int[] getAreas() {
+        int size = 0;
+        for (final AreaStack stack : this.areaStacks) {
+            size += stack.size();
+        }
+        final int[] out = new int[2 * size];
+        int pos = 0;
+        for (final AreaStack stack : this.areaStacks) {
+            pos += stack.copyTo(out, pos, Math.min(stack.size(), size - pos));
+        }
+        return pos == size ? out : Arrays.copyOf(out, 2 * pos);
+    }
+
+    /**
+     * Sets the maximum number of areas that are rendered, only the lowest areas on the stack are shown.
+     * This bounds the work of publishing a snapshot for algorithms that highlight many areas at once.
+     *
+     * @param max maximum number of rendered areas
+     */
+    public void setMaxRenderedAreas(final int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("negative number of areas: " + max);
+        }
+        this.maxRenderedAreas = max;
     }
 
     /**
@@ -77,7 +192,7 @@ public class DataModel {
      *
      * @param newValue new highlighted value
      */
-    public synchronized void setSpecialValue(final int newValue) {
+    public void setSpecialValue(final int newValue) {
         this.specialValue = newValue;
     }
 
@@ -86,7 +201,7 @@ public class DataModel {
      *
      * @param index index of new highlighted value
      */
-    public synchronized void setSpecial(final int index) {
+    public void setSpecial(final int index) {
         this.specialValue = index < 0 ? -1 : values[index];
     }
 
@@ -100,12 +215,24 @@ public class DataModel {
     }
 
     /**
-     * Returns the current areas of interest, as two-element int arrays {@code int[]{ start, end }}.
+     * Sets the exclusive upper bound of the values to sort. All values must then lie in {@code [0, bound)}.
      *
-     * @return areas of interest
+     * @param bound exclusive upper bound of the values, {@code -1} if it is unknown
+     */
+    public void setValueBound(final int bound) {
+        if (bound < -1) {
+            throw new IllegalArgumentException("invalid value bound: " + bound);
+        }
+        this.valueBound = bound;
+    }
+
+    /**
+     * Returns the exclusive upper bound of the values to sort.
+     *
+     * @return upper bound of the values, or {@code -1} if it is unknown
      */
-    public Iterable<int[]> getAreas() {
-        return this.areas;
+    public int getValueBound() {
+        return this.valueBound;
     }
 
     /**
@@ -123,20 +250,45 @@ public class DataModel {
      * @return the copy
      * @throws IllegalStateException if there already exists a copy
      */
-    public synchronized int[] createCopy() {
+    public int[] createCopy() {
         if (this.copy != null) {
             throw new IllegalStateException("copy already exists");
         }
         this.copy = this.values.clone();
+        this.peakAuxiliary = Math.max(this.peakAuxiliary, this.copy.length + this.buffered.get());
         return this.copy;
     }
 
+    /**
+     * Creates an auxiliary buffer that is usually much smaller than the values. Its size counts towards the
+     * {@link #getPeakAuxiliary() peak auxiliary memory} until it is released, but it is not visualized.
+     *
+     * @param length number of values the buffer can hold
+     * @return the buffer
+     */
+    public int[] createBuffer(final int length) {
+        final int[] buffer = new int[length];
+        final int[] currentCopy = this.copy;
+        final long total = this.buffered.addAndGet(length) + (currentCopy == null ? 0 : currentCopy.length);
+        this.peakAuxiliary = Math.max(this.peakAuxiliary, total);
+        return buffer;
+    }
+
+    /**
+     * Releases a buffer created by {@link #createBuffer(int)}.
+     *
+     * @param buffer the buffer
+     */
+    public void releaseBuffer(final int[] buffer) {
+        this.buffered.addAndGet(-buffer.length);
+    }
+
     /**
      * Checks if a copy has been created.
      *
      * @return {@code true} if a copy has been created, {@code false} otherwise
      */
-    public synchronized boolean hasCopy() {
+    public boolean hasCopy() {
         return this.copy != null;
     }
 
@@ -146,7 +298,7 @@ public class DataModel {
      * @return copy of the value array
      * @throws IllegalStateException if no copy exists
      */
-    public synchronized int[] getCopy() {
+    public int[] getCopy() {
         if (this.copy == null) {
             throw new IllegalStateException("no copy was created");
         }
@@ -158,7 +310,7 @@ public class DataModel {
      *
      * @throws IllegalStateException if no copy exists
      */
-    public synchronized void destroyCopy() {
+    public void destroyCopy() {
         if (this.copy == null) {
             throw new IllegalStateException("no copy exists");
         }
@@ -196,10 +348,52 @@ public class DataModel {
      * @throws InterruptedException if the thread was interrupted
      */
     public int compare(final int[] array, final int i, final int j) throws InterruptedException {
+        counts().compared(aux(array));
         pause(false);
         return Integer.compare(array[i], array[j]);
     }
 
+    /**
+     * Compares two values in possibly different arrays, e.g. a value in the auxiliary array with one of the values
+     * to sort. The comparison only counts as auxiliary if neither array holds the values to sort.
+     *
+     * @param array1 array of the first value
+     * @param i index of the first value
+     * @param array2 array of the second value
+     * @param j index of the second value
+     * @return see {@link Integer#compare(int, int)}
+     * @throws InterruptedException if the thread was interrupted
+     */
+    public int compare(final int[] array1, final int i, final int[] array2, final int j)
+            throws InterruptedException {
+        counts().compared(aux(array1), aux(array2));
+        pause(false);
+        return Integer.compare(array1[i], array2[j]);
+    }
+
+    /**
+     * Reads a value to be sorted. Reads do not change the visualized state, so the sorting algorithm does not
+     * pause, they are only counted.
+     *
+     * @param pos position of the value
+     * @return the value
+     */
+    public int get(final int pos) {
+        return get(this.values, pos);
+    }
+
+    /**
+     * Reads a value from the given array, see {@link #get(int)}.
+     *
+     * @param array array to read the value from
+     * @param pos position of the value
+     * @return the value
+     */
+    public int get(final int[] array, final int pos) {
+        counts().read(aux(array));
+        return array[pos];
+    }
+
     /**
      * Swaps the values at positions {@code i} and {@code j}.
      *
@@ -222,24 +416,26 @@ public class DataModel {
     public void swap(final int[] array, final int i, final int j)
             throws InterruptedException {
         if (i != j) {
-            synchronized (this) {
-                final int temp = array[i];
-                array[i] = array[j];
-                array[j] = temp;
-            }
+            counts().swapped(aux(array));
+            final int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
             pause(true);
         }
     }
 
     /**
-     * Pauses the sorting algorithm.
+     * Pauses the sorting algorithm. The requested duration of the operation is
+     * {@code exp(sleepTime / 13.155) - 1} milliseconds, scaled by the distribution between comparisons and swaps,
+     * and is handed to the {@link Pacer}, which decides whether and how long the thread has to park.
      *
      * @param swap pause for a swap instead of a comparison
      * @throws InterruptedException if the thread was interrupted
      */
     public void pause(final boolean swap) throws InterruptedException {
         checkStop();
-        final double millis = Math.ceil(Math.exp(this.sleepTime.get() / 13.155)) - 1;
+        publishIfRequested();
+        final double millis = Math.exp(this.sleepTime.get() / 13.155) - 1;
         final int comp = distribution.get();
         final double factor;
         if (swap) {
@@ -247,7 +443,74 @@ public class DataModel {
         } else {
             factor = comp >= 50 ? 1 : comp / (100.0 - comp);
         }
-        Thread.sleep((long) Math.round(factor * millis));
+        final long nanos = this.pacer.pace(Math.round(factor * millis * 1e6));
+        if (nanos > 0) {
+            final Thread current = Thread.currentThread();
+            final long deadline = System.nanoTime() + nanos;
+            for (long rest = nanos; rest > 0; rest = deadline - System.nanoTime()) {
+                this.sleeper = current;
+                if (!this.requested.get()) {
+                    LockSupport.parkNanos(this, rest);
+                }
+                this.sleeper = null;
+                checkStop();
+                publishIfRequested();
+            }
+        }
+    }
+
+    /**
+     * Returns the pacer of the operations on this data model.
+     *
+     * @return the pacer
+     */
+    public Pacer getPacer() {
+        return this.pacer;
+    }
+
+    /**
+     * Publishes a new snapshot if the rendering thread requested one.
+     */
+    private void publishIfRequested() {
+        if (this.requested.get() && this.requested.compareAndSet(true, false)) {
+            publish();
+        }
+    }
+
+    /**
+     * Publishes a snapshot of the current state for the rendering thread. Besides being called automatically
+     * between operations, this has to be called once before and once after sorting.
+     */
+    public void publish() {
+        synchronized (this.latest) {
+            this.back.capture(this.values, this.copy, this.areaStacks, this.maxRenderedAreas, this.specialValue,
+                    this.published++);
+            this.back = this.latest.getAndSet(this.back);
+        }
+    }
+
+    /**
+     * Asks the sorting thread to publish a new snapshot with its next operation. Can be called from any thread.
+     */
+    public void requestSnapshot() {
+        this.requested.set(true);
+        final Thread sleeping = this.sleeper;
+        if (sleeping != null) {
+            LockSupport.unpark(sleeping);
+        }
+    }
+
+    /**
+     * Returns the most recently published snapshot. The returned snapshot stays valid until the next call of this
+     * method, which must always happen from the same (rendering) thread.
+     *
+     * @return most recent snapshot
+     */
+    public Snapshot acquireSnapshot() {
+        if (this.latest.get().getSequence() > this.front.getSequence()) {
+            this.front = this.latest.getAndSet(this.front);
+        }
+        return this.front;
     }
 
     /**
@@ -282,7 +545,95 @@ public class DataModel {
      */
     public void setValue(final int[] array, final int pos, final int value)
             throws InterruptedException {
+        counts().written(aux(array));
         array[pos] = value;
         pause(true);
     }
+
+    /**
+     * Returns a snapshot of the operation counters of all threads that sorted values of this data model.
+     * Counters of threads that are still sorting may be slightly out of date.
+     *
+     * @return snapshot of the operation counters
+     */
+    public OperationCounts getCounts() {
+        final OperationCounts snapshot = new OperationCounts();
+        snapshot.add(this.ownerCounts);
+        for (final OperationCounts counts : this.otherCounts) {
+            snapshot.add(counts);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the peak number of values that were held in auxiliary arrays created through this model,
+     * i.e. by {@link #createCopy()} and {@link #createBuffer(int)}.
+     *
+     * @return peak number of auxiliary values
+     */
+    public long getPeakAuxiliary() {
+        return this.peakAuxiliary;
+    }
+
+    /**
+     * Resets all operation counters and the peak auxiliary memory to zero,
+     * must not be called while values are being sorted.
+     */
+    public void resetCounts() {
+        this.peakAuxiliary = 0;
+        this.ownerCounts.clear();
+        for (final OperationCounts counts : this.otherCounts) {
+            counts.clear();
+        }
+    }
+
+    /**
+     * Returns the counter block of the current thread.
+     *
+     * @return counter block
+     */
+    final OperationCounts counts() {
+        return isOwner() ? this.ownerCounts : this.localCounts.get();
+    }
+
+    /**
+     * Returns the area stack of the current thread.
+     *
+     * @return area stack
+     */
+    private AreaStack areas() {
+        return isOwner() ? this.ownerAreas : this.localAreas.get();
+    }
+
+    /**
+     * Checks if the current thread owns the counter block {@link #ownerCounts} and area stack {@link #ownerAreas},
+     * claiming them if they have no owner yet.
+     *
+     * @return {@code true} if the current thread is the owner, {@code false} otherwise
+     */
+    private boolean isOwner() {
+        final Thread current = Thread.currentThread();
+        final Thread currentOwner = this.owner;
+        if (currentOwner != null) {
+            // the owner is only set once, so other threads never need the lock after that
+            return current == currentOwner;
+        }
+        synchronized (this.ownerCounts) {
+            if (this.owner == null) {
+                this.owner = current;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the counter offset of the given array.
+     *
+     * @param array array
+     * @return {@code 0} for the values to sort, {@code 1} for the auxiliary array
+     */
+    final int aux(final int[] array) {
+        return array == this.values ? 0 : 1;
+    }
 }
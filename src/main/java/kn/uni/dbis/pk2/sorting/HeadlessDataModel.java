@@ -0,0 +1,63 @@
+package kn.uni.dbis.pk2.sorting;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data model that is not visualized. All pacing, locking and highlighting is turned into no-ops, so that the
+ * sorting algorithms run at (almost) native speed.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public class HeadlessDataModel extends DataModel {
+
+    /** Mask for the number of operations between two checks for thread interruption. */
+    private static final int CHECK_MASK = (1 << 16) - 1;
+
+    /**
+     * Creates a new headless data model.
+     *
+     * @param values values to sort
+     */
+    public HeadlessDataModel(final int[] values) {
+        super(values, new AtomicInteger(0), new AtomicInteger(50));
+    }
+
+    @Override
+    public void addArea(final int start, final int end) {
+        // not visualized
+    }
+
+    @Override
+    public void changeArea(final int stackPos, final int start, final int end) {
+        // not visualized
+    }
+
+    @Override
+    public void removeArea() {
+        // not visualized
+    }
+
+    @Override
+    public void setSpecialValue(final int newValue) {
+        // not visualized
+    }
+
+    @Override
+    public void setSpecial(final int index) {
+        // not visualized
+    }
+
+    /**
+     * Does not pause at all, but still checks for thread interruption every {@code 2^16} operations of the
+     * current thread so that runaway algorithms can be stopped.
+     *
+     * @param swap ignored
+     * @throws InterruptedException if the thread was interrupted
+     */
+    @Override
+    public void pause(final boolean swap) throws InterruptedException {
+        if ((counts().tick() & CHECK_MASK) == 0 && Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+}
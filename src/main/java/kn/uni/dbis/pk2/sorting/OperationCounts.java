@@ -0,0 +1,191 @@
+package kn.uni.dbis.pk2.sorting;
+
+/**
+ * Block of operation counters of a sorting run, separated into operations on the array of values to sort
+ * and on the auxiliary array created by {@link DataModel#createCopy()}.
+ *
+ * <p>Instances handed out by {@link DataModel#getCounts()} are snapshots. Live counter blocks are confined to
+ * a single thread, which keeps the counting overhead at a single array increment per operation.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class OperationCounts {
+
+    /** Enumeration of all counted operations. */
+    public enum Counter {
+        /** Comparisons of two values. */
+        COMPARISONS("comparisons"),
+        /** Swaps of two values. */
+        SWAPS("swaps"),
+        /** Values written into an array, including the two writes of every swap. */
+        WRITES("writes"),
+        /**
+         * Values read from an array, by comparisons, swaps and {@link DataModel#get(int[], int)}. Values that an
+         * algorithm reads from the array directly are not counted.
+         */
+        READS("reads");
+
+        /** Name of the counter. */
+        private final String name;
+
+        /**
+         * Constructor.
+         *
+         * @param name name of the counter
+         */
+        Counter(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return this.name;
+        }
+    }
+
+    /** Index of the comparison counters. */
+    static final int COMPARISONS = 2 * Counter.COMPARISONS.ordinal();
+
+    /** Index of the swap counters. */
+    static final int SWAPS = 2 * Counter.SWAPS.ordinal();
+
+    /** Index of the write counters. */
+    static final int WRITES = 2 * Counter.WRITES.ordinal();
+
+    /** Index of the read counters. */
+    static final int READS = 2 * Counter.READS.ordinal();
+
+    /** Counters, two per operation: first for the values array, second for the auxiliary array. */
+    private final long[] counts = new long[2 * Counter.values().length];
+
+    /** Number of operations of the owning thread, wraps around and is neither added nor cleared. */
+    private int ticks;
+
+    /** Creates an empty counter block. */
+    public OperationCounts() {
+    }
+
+    /**
+     * Counts a comparison of two values in the same array.
+     *
+     * @param aux offset of the array, {@code 0} for the values and {@code 1} for the auxiliary array
+     */
+    void compared(final int aux) {
+        this.counts[COMPARISONS + aux]++;
+        this.counts[READS + aux] += 2;
+    }
+
+    /**
+     * Counts a comparison of two values in possibly different arrays, which only counts as auxiliary if both
+     * values are read from auxiliary arrays.
+     *
+     * @param aux1 offset of the first value's array
+     * @param aux2 offset of the second value's array
+     */
+    void compared(final int aux1, final int aux2) {
+        this.counts[COMPARISONS + (aux1 & aux2)]++;
+        this.counts[READS + aux1]++;
+        this.counts[READS + aux2]++;
+    }
+
+    /**
+     * Counts a swap of two values.
+     *
+     * @param aux offset of the array, {@code 0} for the values and {@code 1} for the auxiliary array
+     */
+    void swapped(final int aux) {
+        this.counts[SWAPS + aux]++;
+        this.counts[READS + aux] += 2;
+        this.counts[WRITES + aux] += 2;
+    }
+
+    /**
+     * Counts a single read value.
+     *
+     * @param aux offset of the array, {@code 0} for the values and {@code 1} for the auxiliary array
+     */
+    void read(final int aux) {
+        this.counts[READS + aux]++;
+    }
+
+    /**
+     * Counts a single written value.
+     *
+     * @param aux offset of the array, {@code 0} for the values and {@code 1} for the auxiliary array
+     */
+    void written(final int aux) {
+        this.counts[WRITES + aux]++;
+    }
+
+    /**
+     * Counts an operation of the thread that owns this block, for periodically checking for interruption.
+     *
+     * @return number of operations counted so far, modulo {@code 2^32}
+     */
+    int tick() {
+        return ++this.ticks;
+    }
+
+    /**
+     * Adds all counters of the given block to this one.
+     *
+     * @param other counter block to add
+     */
+    void add(final OperationCounts other) {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] += other.counts[i];
+        }
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    void clear() {
+        for (int i = 0; i < this.counts.length; i++) {
+            this.counts[i] = 0;
+        }
+    }
+
+    /**
+     * Returns the number of operations of the given kind on the array of values to sort.
+     *
+     * @param counter kind of operation
+     * @return number of operations
+     */
+    public long getMain(final Counter counter) {
+        return this.counts[2 * counter.ordinal()];
+    }
+
+    /**
+     * Returns the number of operations of the given kind on the auxiliary array.
+     *
+     * @param counter kind of operation
+     * @return number of operations
+     */
+    public long getAuxiliary(final Counter counter) {
+        return this.counts[2 * counter.ordinal() + 1];
+    }
+
+    /**
+     * Returns the number of operations of the given kind on both arrays.
+     *
+     * @param counter kind of operation
+     * @return number of operations
+     */
+    public long getTotal(final Counter counter) {
+        return getMain(counter) + getAuxiliary(counter);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Counter counter : Counter.values()) {
+            sb.append(sb.length() == 0 ? "" : ", ").append(counter).append(": ").append(getMain(counter));
+            final long aux = getAuxiliary(counter);
+            if (aux != 0) {
+                sb.append(" (+").append(aux).append(" aux)");
+            }
+        }
+        return sb.toString();
+    }
+}
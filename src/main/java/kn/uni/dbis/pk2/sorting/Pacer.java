@@ -0,0 +1,114 @@
+package kn.uni.dbis.pk2.sorting;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Paces the operations of a sorting algorithm with nanosecond precision. Every operation adds its requested
+ * duration to a debt that is paid off by elapsed time; the sorting thread only parks when the debt exceeds
+ * {@link #MIN_PARK_NANOS}, so that operations shorter than the resolution of the scheduler are executed in bursts
+ * that average out to the requested rate. If the algorithm falls behind, at most one display frame of time is
+ * credited, so that it does not race ahead afterwards.
+ *
+ * <p>The state is shared between all threads sorting the same data model, so the requested rate is the total
+ * rate of the model. Only paced operations take the lock, and parking happens outside of it. Unpaced operations
+ * just increment contention-free counters, so that the threads of a parallel algorithm do not serialize.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class Pacer {
+
+    /** Minimum debt in nanoseconds for which the sorting thread parks. */
+    public static final long MIN_PARK_NANOS = 1_000_000L;
+
+    /** Maximum credit in nanoseconds, one frame of the visualization. */
+    public static final long MAX_CREDIT_NANOS = 1_000_000_000L / 60;
+
+    /** Time that has not yet been paid for by operations, negative if operations are ahead of time. */
+    private long budget;
+
+    /** Time of the last paced operation. */
+    private long last = System.nanoTime();
+
+    /** Flag indicating that unpaced operations happened since the last paced one. */
+    private volatile boolean unpaced;
+
+    /** Start of the current measurement window. */
+    private long windowStart = this.last;
+
+    /** Number of operations in the current measurement window. */
+    private final LongAdder windowOps = new LongAdder();
+
+    /** Requested duration of the operations in the current measurement window. */
+    private final LongAdder windowNanos = new LongAdder();
+
+    /** Achieved operations per second in the last measurement window. */
+    private double achieved;
+
+    /** Requested operations per second in the last measurement window. */
+    private double requested = Double.POSITIVE_INFINITY;
+
+    /**
+     * Accounts for an operation with the given requested duration.
+     *
+     * @param nanos requested duration of the operation in nanoseconds
+     * @return number of nanoseconds the calling thread has to park, {@code 0} if it can continue immediately
+     */
+    public long pace(final long nanos) {
+        this.windowOps.increment();
+        if (nanos <= 0) {
+            // only written once, so that the threads do not compete for the cache line
+            if (!this.unpaced) {
+                this.unpaced = true;
+            }
+            return 0;
+        }
+        this.windowNanos.add(nanos);
+        synchronized (this) {
+            final long now = System.nanoTime();
+            if (this.unpaced) {
+                // do not accumulate credit during unpaced operations
+                this.unpaced = false;
+                this.budget = 0;
+                this.last = now;
+            }
+            this.budget = Math.min(this.budget + now - this.last, MAX_CREDIT_NANOS) - nanos;
+            this.last = now;
+            return this.budget < -MIN_PARK_NANOS ? -this.budget : 0;
+        }
+    }
+
+    /**
+     * Closes the current measurement window and computes the achieved and requested rates in it. If no operation
+     * was executed, the requested rate of the previous window is kept. Operations that happen concurrently may be
+     * attributed to either window.
+     */
+    public synchronized void sample() {
+        final long now = System.nanoTime();
+        final long elapsed = now - this.windowStart;
+        final long ops = this.windowOps.sumThenReset();
+        final long requestedNanos = this.windowNanos.sumThenReset();
+        this.achieved = elapsed > 0 ? ops * 1e9 / elapsed : 0;
+        if (ops > 0) {
+            this.requested = requestedNanos > 0 ? ops * 1e9 / requestedNanos : Double.POSITIVE_INFINITY;
+        }
+        this.windowStart = now;
+    }
+
+    /**
+     * Returns the achieved number of operations per second in the last measurement window.
+     *
+     * @return achieved operations per second
+     */
+    public synchronized double getAchievedRate() {
+        return this.achieved;
+    }
+
+    /**
+     * Returns the requested number of operations per second in the last measurement window.
+     *
+     * @return requested operations per second, {@link Double#POSITIVE_INFINITY} if the operations are not paced
+     */
+    public synchronized double getRequestedRate() {
+        return this.requested;
+    }
+}
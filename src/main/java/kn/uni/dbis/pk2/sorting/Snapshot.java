@@ -0,0 +1,146 @@
+package kn.uni.dbis.pk2.sorting;
+
+import java.util.Arrays;
+
+/**
+ * Consistent copy of the state of a {@link DataModel}, published by the sorting thread for rendering.
+ * A snapshot handed out by {@link DataModel#acquireSnapshot()} is owned by the rendering thread until the next
+ * call of that method.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class Snapshot {
+
+    /** Copy of the values to sort. */
+    private int[] values;
+
+    /** Copy of the auxiliary array. */
+    private int[] copy;
+
+    /** Flag indicating whether the auxiliary array existed. */
+    private boolean hasCopy;
+
+    /** Highlighted areas, as consecutive pairs of start and end positions. */
+    private int[] areas = new int[16];
+
+    /** Number of highlighted areas. */
+    private int numAreas;
+
+    /** Highlighted special value. */
+    private int specialValue = -1;
+
+    /** Sequence number of this snapshot, increasing with every publication. */
+    private long sequence = -1;
+
+    /** Creates an empty snapshot. */
+    Snapshot() {
+    }
+
+    /**
+     * Overwrites this snapshot with the given state, reusing the allocated arrays where possible.
+     *
+     * @param newValues values to sort
+     * @param newCopy auxiliary array, may be {@code null}
+     * @param newAreas highlighted areas of all threads
+     * @param maxAreas maximum number of areas to capture
+     * @param newSpecial highlighted special value
+     * @param newSequence sequence number of the snapshot
+     */
+    void capture(final int[] newValues, final int[] newCopy, final Iterable<AreaStack> newAreas,
+            final int maxAreas, final int newSpecial, final long newSequence) {
+        this.values = copyInto(newValues, this.values);
+        this.hasCopy = newCopy != null;
+        if (this.hasCopy) {
+            this.copy = copyInto(newCopy, this.copy);
+        }
+        int n = 0;
+        for (final AreaStack stack : newAreas) {
+            final int size = Math.min(stack.size(), maxAreas - n);
+            if (2 * (n + size) > this.areas.length) {
+                this.areas = Arrays.copyOf(this.areas, Math.max(2 * (n + size), 2 * this.areas.length));
+            }
+            n += stack.copyTo(this.areas, n, size);
+        }
+        this.numAreas = n;
+        this.specialValue = newSpecial;
+        this.sequence = newSequence;
+    }
+
+    /**
+     * Copies the given array into the target array, allocating a new one if the length does not match.
+     *
+     * @param array array to copy
+     * @param target target array, may be {@code null}
+     * @return array containing the copy
+     */
+    private static int[] copyInto(final int[] array, final int[] target) {
+        final int[] out = target != null && target.length == array.length ? target : new int[array.length];
+        System.arraycopy(array, 0, out, 0, array.length);
+        return out;
+    }
+
+    /**
+     * Returns the values to be sorted.
+     *
+     * @return values to be sorted
+     */
+    public int[] getValues() {
+        return this.values;
+    }
+
+    /**
+     * Returns the auxiliary array.
+     *
+     * @return auxiliary array, or {@code null} if none existed
+     */
+    public int[] getCopy() {
+        return this.hasCopy ? this.copy : null;
+    }
+
+    /**
+     * Returns the number of highlighted areas.
+     *
+     * @return number of highlighted areas
+     */
+    public int getNumAreas() {
+        return this.numAreas;
+    }
+
+    /**
+     * Returns the start of the area at the given position.
+     *
+     * @param i position of the area, {@code 0} being the oldest
+     * @return start of the area
+     */
+    public int getAreaStart(final int i) {
+        return this.areas[2 * i];
+    }
+
+    /**
+     * Returns the end of the area at the given position.
+     *
+     * @param i position of the area, {@code 0} being the oldest
+     * @return end of the area (exclusive)
+     */
+    public int getAreaEnd(final int i) {
+        return this.areas[2 * i + 1];
+    }
+
+    /**
+     * Returns the highlighted special value.
+     *
+     * @return special value, or {@code -1} if none is set
+     */
+    public int getSpecialValue() {
+        return this.specialValue;
+    }
+
+    /**
+     * Returns the sequence number of this snapshot.
+     *
+     * @return sequence number
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+}
@@ -2,14 +2,23 @@ package kn.uni.dbis.pk2.sorting;
 
 import java.util.function.Supplier;
 
+import kn.uni.dbis.pk2.sorting.algo.AdaptiveSort;
+import kn.uni.dbis.pk2.sorting.algo.AmericanFlagSort;
 import kn.uni.dbis.pk2.sorting.algo.BogoSort;
 import kn.uni.dbis.pk2.sorting.algo.BubbleSort;
 import kn.uni.dbis.pk2.sorting.algo.CombSort;
+import kn.uni.dbis.pk2.sorting.algo.CountingSort;
 import kn.uni.dbis.pk2.sorting.algo.HeapSort;
 import kn.uni.dbis.pk2.sorting.algo.InsertionSort;
 import kn.uni.dbis.pk2.sorting.algo.MergeSort;
+import kn.uni.dbis.pk2.sorting.algo.MergeSortInPlace;
 import kn.uni.dbis.pk2.sorting.algo.MergeSortNatural;
 import kn.uni.dbis.pk2.sorting.algo.MergeSortNaturalExtendedRuns;
+import kn.uni.dbis.pk2.sorting.algo.ParallelMergeSort;
+import kn.uni.dbis.pk2.sorting.algo.ParallelQuickSort;
+import kn.uni.dbis.pk2.sorting.algo.ParallelRadixSortLSD;
+import kn.uni.dbis.pk2.sorting.algo.ParallelSampleSort;
+import kn.uni.dbis.pk2.sorting.algo.PdqSort;
 import kn.uni.dbis.pk2.sorting.algo.QuickSort;
 import kn.uni.dbis.pk2.sorting.algo.QuickSort.PartitionStrategy;
 import kn.uni.dbis.pk2.sorting.algo.QuickSort.PivotStrategy;
@@ -21,8 +30,12 @@ import kn.uni.dbis.pk2.sorting.algo.SelectionSort;
 import kn.uni.dbis.pk2.sorting.algo.ShakerSort;
 import kn.uni.dbis.pk2.sorting.algo.ShakerSortDupl;
 import kn.uni.dbis.pk2.sorting.algo.ShellSort;
+import kn.uni.dbis.pk2.sorting.algo.ShellSort.GapSequence;
 import kn.uni.dbis.pk2.sorting.algo.SlowSort;
 import kn.uni.dbis.pk2.sorting.algo.SmoothSort;
+import kn.uni.dbis.pk2.sorting.algo.SortingNetwork;
+import kn.uni.dbis.pk2.sorting.algo.SortingNetwork.Network;
+import kn.uni.dbis.pk2.sorting.algo.TimSort;
 
 /**
  * Enumeration of all supported sorting algorithms.
@@ -48,8 +61,20 @@ public enum SortingAlgorithm {
     /** The Insertion Sort algorithm. */
     INSERTIONSORT("Insertion Sort", InsertionSort::new, false),
 
-    /** The Insertion Sort algorithm. */
-    SHELLSORT("Shell Sort", ShellSort::new, true),
+    /** The Shell Sort algorithm with the extended version of Ciura's gap sequence. */
+    SHELLSORT("Shell Sort", ShellSort::new, false),
+
+    /** The Shell Sort algorithm with Tokuda's gap sequence. */
+    SHELLSORT_TOKUDA("Shell Sort (Tokuda gaps)", () -> new ShellSort(GapSequence.TOKUDA), false),
+
+    /** The Shell Sort algorithm with Sedgewick's gap sequence. */
+    SHELLSORT_SEDGEWICK("Shell Sort (Sedgewick gaps)", () -> new ShellSort(GapSequence.SEDGEWICK), false),
+
+    /** The Shell Sort algorithm with Pratt's gap sequence. */
+    SHELLSORT_PRATT("Shell Sort (Pratt gaps)", () -> new ShellSort(GapSequence.PRATT), false),
+
+    /** The Shell Sort algorithm with Knuth's gap sequence. */
+    SHELLSORT_KNUTH("Shell Sort (Knuth gaps)", () -> new ShellSort(GapSequence.KNUTH), true),
 
     /** The naive Quick Sort algorithm. */
     QUICKSORT_NAIVE("Quick Sort",
@@ -80,13 +105,34 @@ public enum SortingAlgorithm {
             () -> new QuickSort(RecursionEnd.INSERTION_SORT,
                     PivotStrategy.MEDIAN_OF_MEDIANS, PartitionStrategy.PIVOTS_LEFT), false),
 
+    /** Dual-Pivot Quick Sort algorithm, partitioning around the second and fourth of five samples. */
+    QUICKSORT_DUAL("Quick Sort (dual pivot)",
+            () -> new QuickSort(RecursionEnd.INSERTION_SORT,
+                    PivotStrategy.FIVE_SAMPLES, PartitionStrategy.DUAL_PIVOT), false),
+
+    /** Parallel Quick Sort algorithm using fork/join tasks. */
+    QUICKSORT_PARALLEL("Quick Sort (parallel)",
+            () -> new ParallelQuickSort(RecursionEnd.INSERTION_SORT,
+                    PivotStrategy.MEDIAN_OF_THREE, PartitionStrategy.PIVOTS_MID), false, true),
+
     /** The Intro Sort algorithm, a variant of QuickSort that falls back to HeapSort at a certain recursive depth.
      * See <a href="http://www.cs.rpi.edu/~musser/gp/introsort.ps">David Musser's IntroSort</a>.
      */
     INTROSORT("Quick Sort (IntroSort)",
             () -> new QuickSort(QuickSort.RecursionEnd.MAX_LOG_DEPTH,
                     QuickSort.PivotStrategy.MEDIAN_OF_THREE,
-                    QuickSort.PartitionStrategy.PIVOTS_MID), true),
+                    QuickSort.PartitionStrategy.PIVOTS_MID), false),
+
+    /** Intro Sort falling back to the bottom-up Heap Sort. */
+    INTROSORT_BOTTOM_UP("Quick Sort (IntroSort, bottom-up Heap Sort)",
+            () -> new QuickSort(RecursionEnd.MAX_LOG_DEPTH_BOTTOM_UP,
+                    PivotStrategy.MEDIAN_OF_THREE, PartitionStrategy.PIVOTS_MID), false),
+
+    /** Orson Peters' Pattern-Defeating Quick Sort with block partitioning. */
+    PDQSORT("Pattern-Defeating Quick Sort", PdqSort::new, false),
+
+    /** Parallel Sample Sort in the style of IPS4o, using fork/join tasks. */
+    SAMPLESORT_PARALLEL("Sample Sort (parallel)", ParallelSampleSort::new, true, true),
 
     /** The Merge Sort algorithm. */
     MERGESORT("Merge Sort", MergeSort::new, false),
@@ -95,19 +141,65 @@ public enum SortingAlgorithm {
     MERGESORT_NATURAL("Natural Merge Sort (up/down)", MergeSortNatural::new, false),
 
     /** The Merge Sort algorithm. */
-    MERGESORT_NATURAL2("Natural Merge Sort (extends runs)", MergeSortNaturalExtendedRuns::new, true),
+    MERGESORT_NATURAL2("Natural Merge Sort (extends runs)", MergeSortNaturalExtendedRuns::new, false),
+
+    /** Parallel Merge Sort algorithm using fork/join tasks. */
+    MERGESORT_PARALLEL("Merge Sort (parallel)", ParallelMergeSort::new, false, true),
+
+    /** Stable in-place Merge Sort using a buffer of {@code sqrt(n)} values and rotations. */
+    MERGESORT_IN_PLACE("Merge Sort (in-place, small buffer)", MergeSortInPlace::new, false),
+
+    /** Stable in-place Merge Sort using only rotations. */
+    MERGESORT_ROTATIONS("Merge Sort (in-place, rotations)", () -> new MergeSortInPlace(false), false),
+
+    /** Tim Peters' natural merge sort with galloping merges. */
+    TIMSORT("Tim Sort", TimSort::new, true),
 
     /** The Heap Sort algorithm. */
     HEAPSORT("Heap Sort", HeapSort::new, false),
 
+    /** Heap Sort algorithm sifting down to a leaf first and then climbing back up. */
+    HEAPSORT_BOTTOM_UP("Heap Sort (bottom-up)", () -> new HeapSort(2, true), false),
+
+    /** Heap Sort algorithm on a heap with four children per node. */
+    HEAPSORT_4ARY("Heap Sort (4-ary)", () -> new HeapSort(4, false), false),
+
+    /** Heap Sort algorithm on a heap with eight children per node, sifting down bottom-up. */
+    HEAPSORT_8ARY("Heap Sort (8-ary, bottom-up)", () -> new HeapSort(8, true), false),
+
     /** The Smooth Sort algorithm, reverse Heap Sort that takes advantage of (partially) sorted input. */
     SMOOTHSORT("Smooth Sort", SmoothSort::new, true),
 
+    /** The Counting Sort algorithm, using the upper bound of the values. */
+    COUNTINGSORT("Counting Sort", CountingSort::new, false),
+
+    /** Stable Counting Sort algorithm scattering the values from an auxiliary array. */
+    COUNTINGSORT_STABLE("Counting Sort (stable)", () -> new CountingSort(true), false),
+
     /** The Radix Sort Algorithm. */
     RADIXSORT("Radix Sort", RadixSortMSD::new, false),
 
+    /** In-place Radix Sort sorting by the most significant byte first. */
+    RADIXSORT_AMERICAN_FLAG("Radix Sort (American flag)", AmericanFlagSort::new, false),
+
     /** The Radix Sort Algorithm. */
-    RADIXSORT_LSD("Radix Sort (least significant bit)", RadixSortLSD::new, true),
+    RADIXSORT_LSD("Radix Sort (least significant bit)", RadixSortLSD::new, false),
+
+    /** Radix Sort algorithm sorting by the least significant byte first. */
+    RADIXSORT_LSD_BYTES("Radix Sort (least significant byte)", () -> new RadixSortLSD(Byte.SIZE), false),
+
+    /** Parallel Radix Sort algorithm sorting by the least significant byte first, using fork/join tasks. */
+    RADIXSORT_LSD_PARALLEL("Radix Sort (least significant byte, parallel)", ParallelRadixSortLSD::new, true, true),
+
+    /** Batcher's Bitonic Sort network, executing the stages in parallel. */
+    BITONICSORT("Bitonic Sort (parallel)", () -> new SortingNetwork(Network.BITONIC), false, true),
+
+    /** Batcher's Odd-Even Merge Sort network, executing the stages in parallel. */
+    ODDEVENMERGESORT("Odd-Even Merge Sort (parallel)", () -> new SortingNetwork(Network.ODD_EVEN_MERGE), true,
+            true),
+
+    /** Profiles the input and dispatches to the algorithm that fits it best. */
+    AUTO("Automatic (profiles the input)", AdaptiveSort::new, true),
 
     /** The Slow Sort algorithm. */
     SLOWSORT("Slow Sort", SlowSort::new, false),
@@ -124,17 +216,34 @@ public enum SortingAlgorithm {
     /** Marker for algorithms at the end of their groups. */
     private final boolean endOfGroup;
 
+    /** Marker for algorithms that sort using several threads. */
+    private final boolean parallel;
+
     /**
-     * Constructor.
+     * Constructor for sequential algorithms.
      *
      * @param name name of the algorithm
      * @param supplier for constructing sorter instances
      * @param endOfGroup flag marking the end of a group of algorithms
      */
     SortingAlgorithm(final String name, final Supplier<Sorter> supplier, final boolean endOfGroup) {
+        this(name, supplier, endOfGroup, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name name of the algorithm
+     * @param supplier for constructing sorter instances
+     * @param endOfGroup flag marking the end of a group of algorithms
+     * @param parallel flag marking algorithms that sort using several threads
+     */
+    SortingAlgorithm(final String name, final Supplier<Sorter> supplier, final boolean endOfGroup,
+            final boolean parallel) {
         this.name = name;
         this.supplier = supplier;
         this.endOfGroup = endOfGroup;
+        this.parallel = parallel;
     }
 
     /**
@@ -154,6 +263,16 @@ public enum SortingAlgorithm {
     public boolean isEndOfGroup() {
         return this.endOfGroup;
     }
+
+    /**
+     * Checks if this algorithm sorts using several threads.
+     *
+     * @return result of check
+     */
+    public boolean isParallel() {
+        return this.parallel;
+    }
+
     @Override
     public String toString() {
         return this.name;
@@ -0,0 +1,210 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.Arrays;
+import java.util.logging.Logger;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+import kn.uni.dbis.pk2.sorting.algo.QuickSort.PartitionStrategy;
+import kn.uni.dbis.pk2.sorting.algo.QuickSort.PivotStrategy;
+import kn.uni.dbis.pk2.sorting.algo.QuickSort.RecursionEnd;
+
+/**
+ * Meta-algorithm that profiles the values before choosing how to sort them. A single pass over the values counts
+ * their natural runs and finds their smallest and largest one, and a small sample estimates the proportion of
+ * duplicates. Few runs are merged by {@link TimSort}, values from a small range are counted or sorted by their
+ * bytes, many duplicates are handled by a Quick Sort with three-way partitioning, and all other inputs are sorted
+ * by the {@link PdqSort Pattern-Defeating Quick Sort}. The decision and the time spent on profiling are logged at
+ * level {@link java.util.logging.Level#FINE FINE}.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class AdaptiveSort implements Sorter {
+
+    /** Logger for the decisions. */
+    private static final Logger LOGGER = Logger.getLogger(AdaptiveSort.class.getName());
+
+    /** Inputs of at most this many values are sorted using Insertion Sort. */
+    private static final int SMALL_SIZE = 32;
+
+    /** Minimum average length of the natural runs for merging them. */
+    private static final int MIN_AVERAGE_RUN = 64;
+
+    /** Maximum ratio between the largest value and the number of values for counting them. */
+    private static final int MAX_BOUND_FACTOR = 8;
+
+    /**
+     * Maximum difference between the largest and the smallest value for sorting by bytes. The Radix Sort skips the
+     * bytes that all values share, which are all but the two lowest ones unless the range straddles a boundary of
+     * the higher bytes.
+     */
+    private static final int MAX_RADIX_RANGE = 1 << 16;
+
+    /** Number of values sampled for estimating the proportion of duplicates. */
+    private static final int SAMPLE_SIZE = 256;
+
+    /** Maximum proportion of distinct values in the sample for using three-way partitioning. */
+    private static final double MAX_DISTINCT = 0.5;
+
+    /** Algorithms that the values can be dispatched to. */
+    private enum Choice {
+
+        /** The values are already sorted. */
+        NONE() {
+            @Override
+            void sort(final DataModel model, final Profile profile) {
+                // nothing to do
+            }
+        },
+
+        /** Insertion Sort for very few values. */
+        INSERTION_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                InsertionSort.sort(model, 0, model.getLength());
+            }
+        },
+
+        /** Tim Sort for few natural runs. */
+        TIM_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                new TimSort().sort(model);
+            }
+        },
+
+        /** Counting Sort for non-negative values that are bounded by a small multiple of their number. */
+        COUNTING_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                CountingSort.sort(model, profile.max + 1, false);
+            }
+        },
+
+        /** Radix Sort by bytes for values from a small range, only the differing bytes are sorted by. */
+        RADIX_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                new RadixSortLSD(Byte.SIZE).sort(model);
+            }
+        },
+
+        /** Quick Sort keeping the values equal to the pivot in the middle, for many duplicates. */
+        THREE_WAY_QUICK_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                new QuickSortIterative(RecursionEnd.INSERTION_SORT, PivotStrategy.MEDIAN_OF_THREE,
+                        PartitionStrategy.PIVOTS_MID).sort(model);
+            }
+        },
+
+        /** Pattern-Defeating Quick Sort for all other inputs. */
+        PDQ_SORT() {
+            @Override
+            void sort(final DataModel model, final Profile profile) throws InterruptedException {
+                new PdqSort().sort(model);
+            }
+        };
+
+        /**
+         * Sorts the values.
+         *
+         * @param model data model
+         * @param profile profile of the values
+         * @throws InterruptedException if the sorting thread was interrupted
+         */
+        abstract void sort(DataModel model, Profile profile) throws InterruptedException;
+    }
+
+    /** Properties of the values to sort. */
+    private static final class Profile {
+        /** Number of values. */
+        private final int n;
+        /** Number of non-descending or strictly descending runs. */
+        private int runs;
+        /** Flag indicating that the values are already sorted. */
+        private final boolean sorted;
+        /** Smallest value. */
+        private int min = Integer.MAX_VALUE;
+        /** Largest value. */
+        private int max = Integer.MIN_VALUE;
+        /** Proportion of distinct values in the sample. */
+        private double distinct = 1;
+
+        /**
+         * Profiles the values of the given data model, reading every value once.
+         *
+         * @param model data model
+         */
+        Profile(final DataModel model) {
+            this.n = model.getLength();
+            // runs are found like in Tim Sort, so that descending ones are only reversed
+            boolean descending = false;
+            for (int i = 0, runStart = 0, prev = 0; i < this.n; i++) {
+                final int val = model.get(i);
+                this.min = Math.min(this.min, val);
+                this.max = Math.max(this.max, val);
+                if (i == 0) {
+                    this.runs = 1;
+                } else if (i == runStart + 1) {
+                    // the second value of a run determines its direction
+                    descending = val < prev;
+                } else if (descending ? val >= prev : val < prev) {
+                    this.runs++;
+                    runStart = i;
+                }
+                prev = val;
+            }
+            this.sorted = this.n < 2 || this.runs == 1 && !descending;
+            if (this.n > SAMPLE_SIZE) {
+                final int[] sample = new int[SAMPLE_SIZE];
+                for (int i = 0; i < SAMPLE_SIZE; i++) {
+                    sample[i] = model.get((int) ((long) i * this.n / SAMPLE_SIZE));
+                }
+                Arrays.sort(sample);
+                int different = 1;
+                for (int i = 1; i < SAMPLE_SIZE; i++) {
+                    if (sample[i] != sample[i - 1]) {
+                        different++;
+                    }
+                }
+                this.distinct = (double) different / SAMPLE_SIZE;
+            }
+        }
+
+        /**
+         * Chooses the algorithm for sorting the profiled values.
+         *
+         * @return the algorithm
+         */
+        Choice choose() {
+            final long range = (long) this.max - this.min;
+            if (this.sorted) {
+                return Choice.NONE;
+            } else if (this.n <= SMALL_SIZE) {
+                return Choice.INSERTION_SORT;
+            } else if (this.runs <= this.n / MIN_AVERAGE_RUN) {
+                return Choice.TIM_SORT;
+            } else if (this.min >= 0 && this.max < (long) MAX_BOUND_FACTOR * this.n) {
+                return Choice.COUNTING_SORT;
+            } else if (range < MAX_RADIX_RANGE) {
+                return Choice.RADIX_SORT;
+            } else if (this.distinct <= MAX_DISTINCT) {
+                return Choice.THREE_WAY_QUICK_SORT;
+            }
+            return Choice.PDQ_SORT;
+        }
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final long start = System.nanoTime();
+        final Profile profile = new Profile(model);
+        final Choice choice = profile.choose();
+        final long nanos = System.nanoTime() - start;
+        LOGGER.fine(() -> String.format("%s for %d values (%d runs, range [%d, %d], %.0f%% distinct in sample), "
+                + "profiled in %.3f ms", choice, profile.n, profile.runs, profile.min, profile.max,
+                100 * profile.distinct, nanos / 1e6));
+        choice.sort(model, profile);
+    }
+}
@@ -0,0 +1,131 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * The American Flag Sort algorithm by McIlroy, Bostic and McIlroy, an in-place variant of the Radix Sort that
+ * sorts the most significant byte first. The values of a range are counted per bucket and then swapped into their
+ * buckets along permutation cycles, so no auxiliary array is needed. Only buckets with more than one value are
+ * sorted recursively, and small ones are sorted using Insertion Sort.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class AmericanFlagSort implements Sorter {
+
+    /** Number of bits per digit. */
+    private static final int BITS = Byte.SIZE;
+
+    /** Number of buckets. */
+    private static final int RADIX = 1 << BITS;
+
+    /** Ranges of at most this many values are sorted using Insertion Sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        if (n < 2) {
+            return;
+        }
+        int prev = model.get(0);
+        int ones = prev;
+        int zeroes = ~ones;
+        boolean sorted = true;
+        for (int i = 1; i < n; i++) {
+            final int val = model.get(i);
+            ones &= val;
+            zeroes &= ~val;
+            sorted &= prev <= val;
+            prev = val;
+        }
+        if (sorted) {
+            return;
+        }
+        final int highestBit = 31 - Integer.numberOfLeadingZeros(~(ones | zeroes));
+        sort(model, 0, n, highestBit / BITS * BITS);
+    }
+
+    /**
+     * Recursively sorts the given range of the given data model, all values in it share the digits above the
+     * given one.
+     *
+     * @param model data model
+     * @param start start of the range to sort
+     * @param end end of the range to sort (exclusive)
+     * @param topShift position of the lowest bit of the most significant digit to sort by
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void sort(final DataModel model, final int start, final int end, final int topShift)
+            throws InterruptedException {
+        if (end - start <= INSERTION_SORT_THRESHOLD) {
+            InsertionSort.sort(model, start, end);
+            return;
+        }
+        model.addArea(start, end);
+
+        // skip the digits that all values share
+        int shift = topShift;
+        int[] count;
+        for (;;) {
+            count = new int[RADIX];
+            for (int i = start; i < end; i++) {
+                count[digit(model.get(i), shift)]++;
+            }
+            if (count[digit(model.get(start), shift)] != end - start) {
+                break;
+            }
+            if (shift == 0) {
+                model.removeArea();
+                return;
+            }
+            shift -= BITS;
+        }
+
+        final int[] heads = new int[RADIX];
+        final int[] tails = new int[RADIX];
+        for (int b = 0, pos = start; b < RADIX; b++) {
+            heads[b] = pos;
+            pos += count[b];
+            tails[b] = pos;
+        }
+
+        // every swap moves at least one value into its bucket
+        model.addArea(start, start);
+        for (int b = 0; b < RADIX; b++) {
+            while (heads[b] < tails[b]) {
+                model.setSpecial(heads[b]);
+                model.pause(false);
+                final int d = digit(model.get(heads[b]), shift);
+                if (d == b) {
+                    heads[b]++;
+                } else {
+                    model.swap(heads[b], heads[d]++);
+                }
+                model.changeArea(0, tails[b] - count[b], heads[b]);
+            }
+        }
+        model.setSpecial(-1);
+        model.removeArea();
+
+        if (shift > 0) {
+            for (int b = 0; b < RADIX; b++) {
+                if (count[b] > 1) {
+                    sort(model, tails[b] - count[b], tails[b], shift - BITS);
+                }
+            }
+        }
+        model.removeArea();
+    }
+
+    /**
+     * Extracts a digit of the given value, with the sign bit flipped so that negative values come first.
+     *
+     * @param value value
+     * @param shift position of the digit's lowest bit
+     * @return the digit
+     */
+    private static int digit(final int value, final int shift) {
+        return (value ^ Integer.MIN_VALUE) >>> shift & RADIX - 1;
+    }
+}
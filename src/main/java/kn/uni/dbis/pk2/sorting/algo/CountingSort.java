@@ -0,0 +1,148 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.Arrays;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * The Counting Sort algorithm, which uses the {@link DataModel#getValueBound() upper bound} of the values to count
+ * the occurrences of every possible value in {@code O(n + max)} time. The unstable variant then simply rewrites the
+ * values in ascending order, the stable one scatters them from the auxiliary array to their final positions like
+ * a single pass of the {@link RadixSortLSD LSD Radix Sort}. If the bound is unknown, much larger than the number of
+ * values, or a value lies outside of it, the values are sorted using the {@link PdqSort Pattern-Defeating Quick
+ * Sort} instead.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class CountingSort implements Sorter {
+
+    /** Maximum ratio between the upper bound of the values and their number for counting them. */
+    private static final int MAX_BOUND_FACTOR = 8;
+
+    /** Flag indicating that equal values keep their relative order. */
+    private final boolean stable;
+
+    /**
+     * Creates an unstable Counting Sort.
+     */
+    public CountingSort() {
+        this(false);
+    }
+
+    /**
+     * Creates a Counting Sort.
+     *
+     * @param stable flag indicating that the values should be scattered stably through an auxiliary array
+     */
+    public CountingSort(final boolean stable) {
+        this.stable = stable;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        if (n < 2) {
+            return;
+        }
+        final int bound = model.getValueBound();
+        if (bound >= 0 && bound <= (long) MAX_BOUND_FACTOR * n) {
+            sort(model, bound, this.stable);
+        } else {
+            new PdqSort().sort(model);
+        }
+    }
+
+    /**
+     * Sorts the values of the given data model by counting them, regardless of the ratio between the bound and
+     * their number. If a value lies outside of the bound, the values are sorted using the Pattern-Defeating Quick
+     * Sort instead.
+     *
+     * @param model data model
+     * @param bound exclusive upper bound of the values
+     * @param stable flag indicating that the values should be scattered stably through an auxiliary array
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    static void sort(final DataModel model, final int bound, final boolean stable) throws InterruptedException {
+        final int[] count = count(model, bound);
+        if (count == null) {
+            new PdqSort().sort(model);
+        } else if (stable) {
+            scatter(model, count);
+        } else {
+            rewrite(model, count);
+        }
+    }
+
+    /**
+     * Counts the occurrences of all values.
+     *
+     * @param model data model
+     * @param bound exclusive upper bound of the values
+     * @return number of occurrences of every value, or {@code null} if a value lies outside of the bound
+     */
+    private static int[] count(final DataModel model, final int bound) {
+        final int[] count = new int[bound];
+        for (int i = 0; i < model.getLength(); i++) {
+            final int val = model.get(i);
+            if (val < 0 || val >= bound) {
+                return null;
+            }
+            count[val]++;
+        }
+        return count;
+    }
+
+    /**
+     * Overwrites the values with the counted ones in ascending order.
+     *
+     * @param model data model
+     * @param count number of occurrences of every value
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void rewrite(final DataModel model, final int[] count) throws InterruptedException {
+        model.addArea(0, 0);
+        for (int val = 0, pos = 0; val < count.length; val++) {
+            final int start = pos;
+            for (int k = count[val]; k > 0; k--) {
+                model.changeArea(0, start, pos + 1);
+                model.setValue(pos++, val);
+            }
+        }
+        model.removeArea();
+    }
+
+    /**
+     * Moves the values stably from an auxiliary array to the positions given by the prefix sums of the counts.
+     *
+     * @param model data model
+     * @param count number of occurrences of every value, overwritten with their next write positions
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void scatter(final DataModel model, final int[] count) throws InterruptedException {
+        final int[] values = model.getValues();
+        final int n = values.length;
+        final int[] starts = new int[count.length];
+        for (int val = 0, pos = 0; val < count.length; val++) {
+            final int k = count[val];
+            starts[val] = pos;
+            count[val] = pos;
+            pos += k;
+        }
+
+        final int[] copy = model.createCopy();
+        Arrays.fill(values, -1);
+        model.addArea(0, 0);
+        for (int i = 0; i < n; i++) {
+            final int val = model.get(copy, i);
+            copy[i] = -1;
+            final int pos = count[val]++;
+            model.changeArea(0, starts[val], pos + 1);
+            model.setSpecialValue(val);
+            model.setValue(values, pos, val);
+        }
+        model.removeArea();
+        model.setSpecial(-1);
+        model.destroyCopy();
+    }
+}
@@ -4,38 +4,84 @@ import kn.uni.dbis.pk2.sorting.DataModel;
 import kn.uni.dbis.pk2.sorting.Sorter;
 
 /**
- * The Heap Sort algorithm.
+ * The Heap Sort algorithm. The heap can have more than two children per node, which makes it flatter and keeps
+ * the children of a node next to each other in memory. The bottom-up variant by Wegener and Floyd first follows
+ * the path of larger children down to a leaf and then climbs back up to the misplaced value's position, which
+ * needs about half of the comparisons of the standard sift-down, since most values end up close to the leaves.
  *
  * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
  */
 public final class HeapSort implements Sorter {
 
+    /** Number of children of each node. */
+    private final int arity;
+
+    /** Flag indicating that values are sifted down bottom-up. */
+    private final boolean bottomUp;
+
+    /**
+     * Creates a Heap Sort using a binary heap and the standard sift-down.
+     */
+    public HeapSort() {
+        this(2, false);
+    }
+
+    /**
+     * Creates a Heap Sort.
+     *
+     * @param arity number of children of each node, at least {@code 2}
+     * @param bottomUp flag indicating that values should be sifted down bottom-up
+     */
+    public HeapSort(final int arity, final boolean bottomUp) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("invalid arity: " + arity);
+        }
+        this.arity = arity;
+        this.bottomUp = bottomUp;
+    }
+
     @Override
     public void sort(final DataModel model) throws InterruptedException {
-        sort(model, 0, model.getLength());
+        sort(model, 0, model.getLength(), this.arity, this.bottomUp);
     }
 
     /**
-     * Sorts the given range of the data model using Heap Sort.
+     * Sorts the given range of the data model using Heap Sort on a binary heap.
      *
      * @param model data model
      * @param start start of the range to sort
-     * @param end end of the range to sort
-     * @throws InterruptedException id the sorting thread is interrupted
+     * @param end end of the range to sort (exclusive)
+     * @throws InterruptedException if the sorting thread is interrupted
      */
     public static void sort(final DataModel model, final int start, final int end) throws InterruptedException {
+        sort(model, start, end, 2, false);
+    }
+
+    /**
+     * Sorts the given range of the data model using Heap Sort.
+     *
+     * @param model data model
+     * @param start start of the range to sort
+     * @param end end of the range to sort (exclusive)
+     * @param arity number of children of each node
+     * @param bottomUp flag indicating that values should be sifted down bottom-up
+     * @throws InterruptedException if the sorting thread is interrupted
+     */
+    public static void sort(final DataModel model, final int start, final int end, final int arity,
+            final boolean bottomUp) throws InterruptedException {
         final int n = end - start;
-        final int lastParent = (n - 1) / 2;
-        for (int i = lastParent; i >= 0; i--) {
-            model.addArea(i, n);
-            siftDown(model, i, n);
+        // the heap is at most 31 levels deep
+        final int[] path = bottomUp ? new int[Integer.SIZE] : null;
+        for (int i = (n - 2) / arity; i >= 0; i--) {
+            model.addArea(start + i, end);
+            siftDown(model, start, i, n, arity, path);
             model.removeArea();
         }
         for (int i = n; --i > 0;) {
-            model.addArea(0, i);
-            model.setSpecial(i);
-            model.swap(i, 0);
-            siftDown(model, 0, i);
+            model.addArea(start, start + i);
+            model.setSpecial(start + i);
+            model.swap(start + i, start);
+            siftDown(model, start, 0, i, arity, path);
             model.removeArea();
         }
         model.setSpecial(-1);
@@ -45,25 +91,102 @@ public final class HeapSort implements Sorter {
      * Moves a misplaced value down into the heap until it reaches its dedicated place.
      *
      * @param model data model
-     * @param start start of the heap
-     * @param end end of the heap
+     * @param offset position of the heap's root in the values
+     * @param start position of the misplaced value, relative to the root
+     * @param end size of the heap
+     * @param arity number of children of each node
+     * @param path buffer for sifting the value down bottom-up, {@code null} for the standard sift-down
      * @throws InterruptedException if the sorting thread was interrupted
      */
-    private static void siftDown(final DataModel model, final int start, final int end)
-            throws InterruptedException {
+    private static void siftDown(final DataModel model, final int offset, final int start, final int end,
+            final int arity, final int[] path) throws InterruptedException {
+        if (path != null) {
+            siftDownBottomUp(model, offset, start, end, arity, path);
+            return;
+        }
         int pos = start;
-        while (2 * pos < end - 1) {
-            final int left = 2 * pos + 1;
-            final int child = left + 1 == end || model.compare(left, left + 1) >= 0 ? left : left + 1;
-            if (model.compare(pos, child) >= 0) {
+        while (hasChild(pos, end, arity)) {
+            final int child = largestChild(model, offset, pos, end, arity);
+            if (model.compare(offset + pos, offset + child) >= 0) {
                 break;
             }
-            model.addArea(pos, end);
-            model.setSpecial(pos);
-            model.swap(pos, child);
+            model.addArea(offset + pos, offset + end);
+            model.setSpecial(offset + pos);
+            model.swap(offset + pos, offset + child);
             pos = child;
             model.removeArea();
         }
         model.setSpecial(-1);
     }
+
+    /**
+     * Moves a misplaced value down into the heap by first following the larger children down to a leaf and then
+     * going back up until a value is found that is not smaller than the misplaced one. The values on the path
+     * above that position are then moved up by one level.
+     *
+     * @param model data model
+     * @param offset position of the heap's root in the values
+     * @param start position of the misplaced value, relative to the root
+     * @param end size of the heap
+     * @param arity number of children of each node
+     * @param path buffer for the positions on the path, one per level of the heap
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void siftDownBottomUp(final DataModel model, final int offset, final int start, final int end,
+            final int arity, final int[] path) throws InterruptedException {
+        model.addArea(offset + start, offset + end);
+        model.setSpecial(offset + start);
+
+        int depth = 0;
+        path[0] = start;
+        while (hasChild(path[depth], end, arity)) {
+            path[depth + 1] = largestChild(model, offset, path[depth], end, arity);
+            depth++;
+        }
+        while (depth > 0 && model.compare(offset + start, offset + path[depth]) > 0) {
+            depth--;
+        }
+        for (int i = 0; i < depth; i++) {
+            model.swap(offset + path[i], offset + path[i + 1]);
+        }
+
+        model.setSpecial(-1);
+        model.removeArea();
+    }
+
+    /**
+     * Checks if the given node has at least one child.
+     *
+     * @param pos position of the node, relative to the root
+     * @param end size of the heap
+     * @param arity number of children of each node
+     * @return {@code true} if the node has a child, {@code false} otherwise
+     */
+    private static boolean hasChild(final int pos, final int end, final int arity) {
+        return (long) arity * pos + 1 < end;
+    }
+
+    /**
+     * Finds the largest child of the given node, the first one if there are several.
+     *
+     * @param model data model
+     * @param offset position of the heap's root in the values
+     * @param pos position of the node, which must have at least one child
+     * @param end size of the heap
+     * @param arity number of children of each node
+     * @return position of the largest child, relative to the root
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int largestChild(final DataModel model, final int offset, final int pos, final int end,
+            final int arity) throws InterruptedException {
+        final int first = arity * pos + 1;
+        final int last = first + Math.min(arity, end - first);
+        int child = first;
+        for (int c = first + 1; c < last; c++) {
+            if (model.compare(offset + c, offset + child) > 0) {
+                child = c;
+            }
+        }
+        return child;
+    }
 }
@@ -13,7 +13,7 @@ public final class MergeSort implements Sorter {
     @Override
     public void sort(final DataModel model) throws InterruptedException {
         model.createCopy();
-        this.mergeSort(model, true, 0, model.getLength());
+        mergeSort(model, true, 0, model.getLength());
         model.destroyCopy();
     }
 
@@ -26,7 +26,7 @@ public final class MergeSort implements Sorter {
      * @param n length of the range to sort
      * @throws InterruptedException if the thread was interrupted
      */
-    private void mergeSort(final DataModel model, final boolean intoValues, final int start, final int n)
+    static void mergeSort(final DataModel model, final boolean intoValues, final int start, final int n)
             throws InterruptedException {
         if (n < 2) {
             return;
@@ -38,27 +38,48 @@ public final class MergeSort implements Sorter {
         }
         final int k = n / 2;
         final int mid = start + k;
-        final int end = start + n - 1;
-        this.mergeSort(model, !intoValues, start, k);
-        this.mergeSort(model, !intoValues, mid, n - k);
+        mergeSort(model, !intoValues, start, k);
+        mergeSort(model, !intoValues, mid, n - k);
 
         // merge phase
-        int i = start;
-        int j = start + k;
         final int[] from = intoValues ? model.getCopy() : model.getValues();
         final int[] to = intoValues ? model.getValues() : model.getCopy();
-        model.addArea(j, end + 1);
-        model.addArea(i, start + k);
-        for (int o = start; o <= end; o++) {
+        merge(model, from, start, mid, mid, start + n, to, start);
+        if (n != model.getLength()) {
+            model.removeArea();
+        }
+    }
+
+    /**
+     * Stably merges two sorted runs into the target array. Merged values are overwritten with {@code -1} in the
+     * source array.
+     *
+     * @param model data model
+     * @param from source array
+     * @param i start of the left run
+     * @param iEnd end of the left run
+     * @param j start of the right run
+     * @param jEnd end of the right run
+     * @param to target array
+     * @param out start position in the target array
+     * @throws InterruptedException if the thread was interrupted
+     */
+    static void merge(final DataModel model, final int[] from, final int i, final int iEnd, final int j,
+            final int jEnd, final int[] to, final int out) throws InterruptedException {
+        int l = i;
+        int r = j;
+        model.addArea(j, jEnd);
+        model.addArea(i, iEnd);
+        for (int o = out; l < iEnd || r < jEnd; o++) {
             final int next;
-            if (j > end || i < mid && model.compare(from, i, j) <= 0) {
-                model.changeArea(0, i, start + k);
-                next = i++;
+            if (r >= jEnd || l < iEnd && model.compare(from, l, r) <= 0) {
+                model.changeArea(0, l, iEnd);
+                next = l++;
             } else {
-                model.changeArea(1, j, end + 1);
-                next = j++;
+                model.changeArea(1, r, jEnd);
+                next = r++;
             }
-            final int val = from[next];
+            final int val = model.get(from, next);
             from[next] = -1;
             model.setSpecialValue(val);
             model.setValue(to, o, val);
@@ -66,8 +87,5 @@ public final class MergeSort implements Sorter {
         model.removeArea();
         model.removeArea();
         model.setSpecial(-1);
-        if (n != model.getLength()) {
-            model.removeArea();
-        }
     }
 }
@@ -0,0 +1,286 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Stable bottom-up Merge Sort that needs no auxiliary array of the size of the input. Small blocks are sorted
+ * using Insertion Sort and then merged pairwise. Two runs are merged through a buffer of {@code ceil(sqrt(n))}
+ * values if the shorter one fits into it. Otherwise, the longer run is split in the middle, the matching position
+ * in the shorter run is found by binary search, and the two middle parts are swapped by a rotation, which leaves
+ * two independent and smaller merges on either side.
+ *
+ * <p>Without the buffer, every merge is done by rotations only, so the only extra memory is the recursion stack
+ * of {@code O(log n)} frames. This takes {@code O(n log^2 n)} time, while the buffer makes most merges on the
+ * lower levels linear.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class MergeSortInPlace implements Sorter {
+
+    /** Size of the blocks that are sorted using Insertion Sort. */
+    private static final int BLOCK_SIZE = 16;
+
+    /** Flag indicating that a buffer of {@code ceil(sqrt(n))} values is used. */
+    private final boolean buffered;
+
+    /**
+     * Creates an in-place Merge Sort using a buffer of {@code ceil(sqrt(n))} values.
+     */
+    public MergeSortInPlace() {
+        this(true);
+    }
+
+    /**
+     * Creates an in-place Merge Sort.
+     *
+     * @param buffered flag indicating that a buffer of {@code ceil(sqrt(n))} values should be used
+     */
+    public MergeSortInPlace(final boolean buffered) {
+        this.buffered = buffered;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        for (int start = 0; start < n; start += BLOCK_SIZE) {
+            InsertionSort.sort(model, start, Math.min(start + BLOCK_SIZE, n));
+        }
+        if (n <= BLOCK_SIZE) {
+            return;
+        }
+
+        final int[] buffer = model.createBuffer(this.buffered ? (int) Math.ceil(Math.sqrt(n)) : 0);
+        for (int width = BLOCK_SIZE; width < n; width *= 2) {
+            for (int start = 0; start < n - width; start += 2 * width) {
+                final int mid = start + width;
+                final int end = (int) Math.min((long) mid + width, n);
+                model.addArea(start, end);
+                merge(model, buffer, start, mid, end);
+                model.removeArea();
+            }
+            if (width > n / 2) {
+                break;
+            }
+        }
+        model.releaseBuffer(buffer);
+    }
+
+    /**
+     * Stably merges two adjacent sorted runs.
+     *
+     * @param model data model
+     * @param buffer buffer for the shorter run
+     * @param start start of the left run
+     * @param mid end of the left run and start of the right run
+     * @param end end of the right run (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void merge(final DataModel model, final int[] buffer, final int start, final int mid,
+            final int end) throws InterruptedException {
+        final int len1 = mid - start;
+        final int len2 = end - mid;
+        if (len1 == 0 || len2 == 0 || model.compare(mid - 1, mid) <= 0) {
+            return;
+        }
+        if (len1 <= len2 && len1 <= buffer.length) {
+            mergeLo(model, buffer, start, mid, end);
+        } else if (len2 <= buffer.length) {
+            mergeHi(model, buffer, start, mid, end);
+        } else if (len1 + len2 == 2) {
+            model.swap(start, mid);
+        } else {
+            // split the longer run in the middle and find the corresponding position in the shorter one
+            final int cut1;
+            final int cut2;
+            if (len1 > len2) {
+                cut1 = start + len1 / 2;
+                cut2 = lowerBound(model, mid, end, cut1);
+            } else {
+                cut2 = mid + len2 / 2;
+                cut1 = upperBound(model, start, mid, cut2);
+            }
+            model.addArea(cut1, cut2);
+            rotate(model, buffer, cut1, mid, cut2);
+            model.removeArea();
+            final int newMid = cut1 + (cut2 - mid);
+            merge(model, buffer, start, cut1, newMid);
+            merge(model, buffer, newMid, cut2, end);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs by moving the left one into the buffer and merging from the left.
+     *
+     * @param model data model
+     * @param buffer buffer that can hold the left run
+     * @param start start of the left run
+     * @param mid end of the left run and start of the right run
+     * @param end end of the right run (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void mergeLo(final DataModel model, final int[] buffer, final int start, final int mid,
+            final int end) throws InterruptedException {
+        final int[] values = model.getValues();
+        final int len1 = mid - start;
+        for (int k = 0; k < len1; k++) {
+            model.setValue(buffer, k, model.get(start + k));
+        }
+        int i = 0;
+        int j = mid;
+        int out = start;
+        while (i < len1 && j < end) {
+            // take from the left run if equal, for stability
+            if (model.compare(buffer, i, values, j) <= 0) {
+                model.setValue(out++, model.get(buffer, i++));
+            } else {
+                model.setValue(out++, model.get(j++));
+            }
+        }
+        while (i < len1) {
+            model.setValue(out++, model.get(buffer, i++));
+        }
+    }
+
+    /**
+     * Merges two adjacent runs by moving the right one into the buffer and merging from the right.
+     *
+     * @param model data model
+     * @param buffer buffer that can hold the right run
+     * @param start start of the left run
+     * @param mid end of the left run and start of the right run
+     * @param end end of the right run (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void mergeHi(final DataModel model, final int[] buffer, final int start, final int mid,
+            final int end) throws InterruptedException {
+        final int[] values = model.getValues();
+        final int len2 = end - mid;
+        for (int k = 0; k < len2; k++) {
+            model.setValue(buffer, k, model.get(mid + k));
+        }
+        int i = mid - 1;
+        int j = len2 - 1;
+        int out = end - 1;
+        while (i >= start && j >= 0) {
+            // take from the right run if equal, for stability
+            if (model.compare(values, i, buffer, j) > 0) {
+                model.setValue(out--, model.get(i--));
+            } else {
+                model.setValue(out--, model.get(buffer, j--));
+            }
+        }
+        while (j >= 0) {
+            model.setValue(out--, model.get(buffer, j--));
+        }
+    }
+
+    /**
+     * Finds the first position in the given sorted range whose value is not smaller than the given one.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     * @param key position of the value to search for, outside of the range
+     * @return the position
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int lowerBound(final DataModel model, final int start, final int end, final int key)
+            throws InterruptedException {
+        int lo = start;
+        int hi = end;
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (model.compare(m, key) < 0) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Finds the first position in the given sorted range whose value is greater than the given one.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     * @param key position of the value to search for, outside of the range
+     * @return the position
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int upperBound(final DataModel model, final int start, final int end, final int key)
+            throws InterruptedException {
+        int lo = start;
+        int hi = end;
+        while (lo < hi) {
+            final int m = (lo + hi) >>> 1;
+            if (model.compare(m, key) <= 0) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Swaps two adjacent ranges. If the shorter one fits into the buffer, it is moved out of the way while the
+     * longer one is shifted, otherwise both ranges and then the whole range are reversed.
+     *
+     * @param model data model
+     * @param buffer buffer for the shorter range
+     * @param start start of the first range
+     * @param mid end of the first range and start of the second range
+     * @param end end of the second range (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void rotate(final DataModel model, final int[] buffer, final int start, final int mid,
+            final int end) throws InterruptedException {
+        final int len1 = mid - start;
+        final int len2 = end - mid;
+        if (len1 == 0 || len2 == 0) {
+            return;
+        }
+        if (len1 <= len2 && len1 <= buffer.length) {
+            for (int k = 0; k < len1; k++) {
+                model.setValue(buffer, k, model.get(start + k));
+            }
+            for (int k = 0; k < len2; k++) {
+                model.setValue(start + k, model.get(mid + k));
+            }
+            for (int k = 0; k < len1; k++) {
+                model.setValue(start + len2 + k, model.get(buffer, k));
+            }
+        } else if (len2 <= buffer.length) {
+            for (int k = 0; k < len2; k++) {
+                model.setValue(buffer, k, model.get(mid + k));
+            }
+            for (int k = len1; --k >= 0;) {
+                model.setValue(start + len2 + k, model.get(start + k));
+            }
+            for (int k = 0; k < len2; k++) {
+                model.setValue(start + k, model.get(buffer, k));
+            }
+        } else {
+            reverse(model, start, mid);
+            reverse(model, mid, end);
+            reverse(model, start, end);
+        }
+    }
+
+    /**
+     * Reverses the given range.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void reverse(final DataModel model, final int start, final int end) throws InterruptedException {
+        for (int i = start, j = end - 1; i < j; i++, j--) {
+            model.swap(i, j);
+        }
+    }
+}
@@ -78,7 +78,7 @@ public final class MergeSortNatural implements Sorter {
             } else {
                 pos = j--;
             }
-            final int val = in[pos];
+            final int val = model.get(in, pos);
             in[pos] = -1;
             model.setSpecialValue(val);
             model.setValue(out, k, val);
@@ -103,7 +103,7 @@ public final class MergeSortNatural implements Sorter {
             final int from, final int to) throws InterruptedException {
         model.addArea(from, to);
         for (int i = from; i < to; i++) {
-            final int val = in[i];
+            final int val = model.get(in, i);
             in[i] = -1;
             model.setSpecialValue(val);
             model.changeArea(0, i + 1, to);
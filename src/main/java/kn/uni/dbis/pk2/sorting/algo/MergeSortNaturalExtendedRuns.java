@@ -140,7 +140,7 @@ public final class MergeSortNaturalExtendedRuns implements Sorter {
             final int pos = r == end || l < mid && model.compare(in, l, r) <= 0 ? l++ : r++;
             model.changeArea(1, l, mid);
             model.changeArea(0, r, end);
-            final int val = in[pos];
+            final int val = model.get(in, pos);
             model.setSpecialValue(val);
             in[pos] = -1;
             model.setValue(out, o, val);
@@ -142,7 +142,7 @@ public final class MergeSortNaturalIterative implements Sorter {
                 pos = j;
                 j += addJ;
             }
-            final int val = in[pos];
+            final int val = model.get(in, pos);
             in[pos] = -1;
             model.setSpecialValue(val);
             changeArea(model, 1, i, lastA);
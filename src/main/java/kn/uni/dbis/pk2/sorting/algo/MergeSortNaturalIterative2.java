@@ -103,9 +103,9 @@ public final class MergeSortNaturalIterative2 implements Sorter {
         int j = mid;
         for (int o = start; o < end; o++) {
             if (j == end || i < mid && model.compare(copy, i, j) <= 0) {
-                model.setValue(o, copy[i++]);
+                model.setValue(o, model.get(copy, i++));
             } else {
-                model.setValue(o, copy[j++]);
+                model.setValue(o, model.get(copy, j++));
             }
             model.setSpecial(o);
             model.changeArea(1, i, mid);
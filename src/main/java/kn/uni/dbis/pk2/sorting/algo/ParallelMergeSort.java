@@ -0,0 +1,221 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Parallel variant of the {@link MergeSort Merge Sort} algorithm. Both halves of a range are sorted as
+ * independent fork/join tasks. Two runs are merged in parallel by moving the middle value of the longer run to its
+ * final position and merging the values before and after it independently, down to a grain size below which the
+ * sequential algorithm is used. Like the sequential algorithm, it alternates between the values and the
+ * auxiliary array from {@link DataModel#createCopy()}, and every task highlights the range it works on.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class ParallelMergeSort implements Sorter {
+
+    /** Smallest grain size that is chosen automatically. */
+    private static final int MIN_GRAIN = 16;
+
+    /** Number of tasks per thread if the grain size is chosen automatically. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /** Size of ranges that are sorted or merged sequentially, {@code 0} for choosing it from the input size. */
+    private final int grain;
+
+    /**
+     * Creates a parallel merge sort that uses all available processors and chooses the grain size
+     * automatically.
+     */
+    public ParallelMergeSort() {
+        this(Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * Creates a parallel merge sort.
+     *
+     * @param parallelism number of worker threads
+     * @param grain size of ranges that are sorted or merged sequentially, {@code 0} for choosing it so that every
+     *   worker thread gets a few ranges
+     */
+    public ParallelMergeSort(final int parallelism, final int grain) {
+        if (parallelism <= 0 || grain < 0) {
+            throw new IllegalArgumentException("invalid parallelism or grain size: " + parallelism + ", " + grain);
+        }
+        this.parallelism = parallelism;
+        this.grain = grain;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        final int grainSize = this.grain > 0 ? this.grain
+                : Math.max(MIN_GRAIN, n / (TASKS_PER_THREAD * this.parallelism));
+        model.createCopy();
+        ParallelTask.invoke(this.parallelism, new SortTask(model, grainSize, true, 0, n));
+        model.destroyCopy();
+    }
+
+    /** Task sorting a range. */
+    private static final class SortTask extends ParallelTask {
+        /** Serial version UID. */
+        private static final long serialVersionUID = 1L;
+        /** Data model. */
+        private final DataModel model;
+        /** Size of ranges that are sorted sequentially. */
+        private final int grain;
+        /** Flag indicating if the primary array is the target. */
+        private final boolean intoValues;
+        /** Start of the range. */
+        private final int start;
+        /** Length of the range. */
+        private final int n;
+
+        /**
+         * Constructor.
+         *
+         * @param model data model
+         * @param grain size of ranges that are sorted sequentially
+         * @param intoValues flag indicating if the primary array is the target
+         * @param start start of the range
+         * @param n length of the range
+         */
+        SortTask(final DataModel model, final int grain, final boolean intoValues, final int start, final int n) {
+            this.model = model;
+            this.grain = grain;
+            this.intoValues = intoValues;
+            this.start = start;
+            this.n = n;
+        }
+
+        @Override
+        void run() throws InterruptedException {
+            if (this.n <= this.grain) {
+                MergeSort.mergeSort(this.model, this.intoValues, this.start, this.n);
+                return;
+            }
+            this.model.addArea(this.start, this.start + this.n);
+            final int k = this.n / 2;
+            final int mid = this.start + k;
+            invokeAll(new SortTask(this.model, this.grain, !this.intoValues, this.start, k),
+                    new SortTask(this.model, this.grain, !this.intoValues, mid, this.n - k));
+            final int[] from = this.intoValues ? this.model.getCopy() : this.model.getValues();
+            final int[] to = this.intoValues ? this.model.getValues() : this.model.getCopy();
+            final int end = this.start + this.n;
+            new MergeTask(this.model, this.grain, from, this.start, mid, mid, end, to, this.start).run();
+            this.model.removeArea();
+        }
+    }
+
+    /** Task merging two sorted runs. */
+    private static final class MergeTask extends ParallelTask {
+        /** Serial version UID. */
+        private static final long serialVersionUID = 1L;
+        /** Data model. */
+        private final DataModel model;
+        /** Size of ranges that are merged sequentially. */
+        private final int grain;
+        /** Source array. */
+        private final int[] from;
+        /** Start of the left run. */
+        private final int i;
+        /** End of the left run. */
+        private final int iEnd;
+        /** Start of the right run. */
+        private final int j;
+        /** End of the right run. */
+        private final int jEnd;
+        /** Target array. */
+        private final int[] to;
+        /** Start position in the target array. */
+        private final int out;
+
+        /**
+         * Constructor.
+         *
+         * @param model data model
+         * @param grain size of ranges that are merged sequentially
+         * @param from source array
+         * @param i start of the left run
+         * @param iEnd end of the left run
+         * @param j start of the right run
+         * @param jEnd end of the right run
+         * @param to target array
+         * @param out start position in the target array
+         */
+        MergeTask(final DataModel model, final int grain, final int[] from, final int i, final int iEnd,
+                final int j, final int jEnd, final int[] to, final int out) {
+            this.model = model;
+            this.grain = grain;
+            this.from = from;
+            this.i = i;
+            this.iEnd = iEnd;
+            this.j = j;
+            this.jEnd = jEnd;
+            this.to = to;
+            this.out = out;
+        }
+
+        @Override
+        void run() throws InterruptedException {
+            final int left = this.iEnd - this.i;
+            final int right = this.jEnd - this.j;
+            if (left + right <= this.grain) {
+                MergeSort.merge(this.model, this.from, this.i, this.iEnd, this.j, this.jEnd, this.to, this.out);
+                return;
+            }
+            // the pivot is the middle value of the longer run, it is moved to its final position directly
+            final int pivot;
+            final int leftMid;
+            final int rightMid;
+            if (left >= right) {
+                // right values smaller than the pivot go before it
+                pivot = this.i + left / 2;
+                leftMid = pivot;
+                rightMid = search(this.j, this.jEnd, pivot, false);
+            } else {
+                // left values smaller than or equal to the pivot go before it
+                pivot = this.j + right / 2;
+                leftMid = search(this.i, this.iEnd, pivot, true);
+                rightMid = pivot;
+            }
+            final int pos = this.out + (leftMid - this.i) + (rightMid - this.j);
+            final int val = this.model.get(this.from, pivot);
+            this.from[pivot] = -1;
+            this.model.setValue(this.to, pos, val);
+            invokeAll(new MergeTask(this.model, this.grain, this.from, this.i, leftMid, this.j, rightMid,
+                        this.to, this.out),
+                    new MergeTask(this.model, this.grain, this.from, pivot == leftMid ? leftMid + 1 : leftMid,
+                        this.iEnd, pivot == rightMid ? rightMid + 1 : rightMid, this.jEnd, this.to, pos + 1));
+        }
+
+        /**
+         * Searches for the split position of a sorted run by binary search.
+         *
+         * @param lo start of the run
+         * @param hi end of the run
+         * @param pivot position of the pivot
+         * @param inclusive if {@code true}, values equal to the pivot are before the returned position
+         * @return first position in the run whose value is greater than (or equal to, if not inclusive) the pivot
+         * @throws InterruptedException if the thread was interrupted
+         */
+        private int search(final int lo, final int hi, final int pivot, final boolean inclusive)
+                throws InterruptedException {
+            int l = lo;
+            int h = hi;
+            while (l < h) {
+                final int m = (l + h) >>> 1;
+                final int cmp = this.model.compare(this.from, m, pivot);
+                if (cmp < 0 || inclusive && cmp == 0) {
+                    l = m + 1;
+                } else {
+                    h = m;
+                }
+            }
+            return l;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+
+/**
+ * Parallel variant of the {@link QuickSort Quick Sort} algorithm. After partitioning a range, the sub-ranges
+ * are sorted as independent fork/join tasks, down to a grain size below which the sequential algorithm is used.
+ * All combinations of {@link RecursionEnd}, {@link PivotStrategy} and {@link PartitionStrategy} are supported.
+ *
+ * <p>Since the first partitioning steps would otherwise be executed by a single thread, ranges above a limit
+ * are partitioned in parallel: all threads classify their chunks relative to the pivot, then move the values into
+ * their final sub-range in the auxiliary array and finally copy them back.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public class ParallelQuickSort extends QuickSort {
+
+    /** Number of tasks per thread if the grain size is chosen automatically. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * Sequential algorithm with the same strategies, used for ranges below the grain size. It only recurses into
+     * the smaller sub-ranges, since the worker threads' stacks are too small for strategies that degrade to
+     * linear recursion depth.
+     */
+    private final QuickSort sequential;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /** Size of ranges that are sorted sequentially, {@code 0} for choosing it from the input size. */
+    private final int grain;
+
+    /** Minimum size of ranges that are partitioned in parallel, {@code 0} for choosing it from the input size. */
+    private final int partitionLimit;
+
+    /**
+     * Constructs a parameterized parallel Quick Sort algorithm that uses all available processors and chooses the
+     * grain size and the limit for parallel partitioning automatically.
+     *
+     * @param endCondition strategy for ending the recursion
+     * @param median strategy for choosing the pivot
+     * @param partition strategy for partitioning the values sequentially
+     */
+    public ParallelQuickSort(final RecursionEnd endCondition, final PivotStrategy median,
+            final PartitionStrategy partition) {
+        this(endCondition, median, partition, Runtime.getRuntime().availableProcessors(), 0, 0);
+    }
+
+    /**
+     * Constructs a parameterized parallel Quick Sort algorithm.
+     *
+     * @param endCondition strategy for ending the recursion
+     * @param median strategy for choosing the pivot
+     * @param partition strategy for partitioning the values sequentially
+     * @param parallelism number of worker threads
+     * @param grain size of ranges that are sorted sequentially, {@code 0} for choosing it so that every worker
+     *   thread gets a few ranges
+     * @param partitionLimit minimum size of ranges that are partitioned in parallel, {@code 0} for partitioning
+     *   the top {@code log2(parallelism)} levels in parallel
+     */
+    public ParallelQuickSort(final RecursionEnd endCondition, final PivotStrategy median,
+            final PartitionStrategy partition, final int parallelism, final int grain, final int partitionLimit) {
+        super(endCondition, median, partition);
+        if (parallelism <= 0 || grain < 0 || partitionLimit < 0) {
+            throw new IllegalArgumentException("invalid parallelism, grain size or partition limit: "
+                    + parallelism + ", " + grain + ", " + partitionLimit);
+        }
+        this.sequential = new QuickSortIterative(endCondition, median, partition);
+        this.parallelism = parallelism;
+        this.grain = grain;
+        this.partitionLimit = partitionLimit;
+    }
+
+    @Override
+    void sort(final DataModel model, final int start, final int end, final int depth) throws InterruptedException {
+        final int n = end - start;
+        final int grainSize = this.grain > 0 ? this.grain
+                : Math.max(SMALL_LIMIT + 1, n / (TASKS_PER_THREAD * this.parallelism));
+        if (n <= grainSize) {
+            this.sequential.sort(model, start, end, depth);
+            return;
+        }
+        final int limit = this.partitionLimit > 0 ? this.partitionLimit
+                : this.parallelism > 1 ? Math.max(grainSize, n / this.parallelism) : Integer.MAX_VALUE;
+        final boolean copy = n >= limit;
+        if (copy) {
+            model.createCopy();
+        }
+        ParallelTask.invoke(this.parallelism, sortTask(model, start, end, depth, grainSize, limit));
+        if (copy) {
+            model.destroyCopy();
+        }
+    }
+
+    /**
+     * Creates a task sorting the given range in parallel.
+     *
+     * @param model data model
+     * @param start start of the range to sort
+     * @param end end of the range to sort (exclusive)
+     * @param depth current recursion depth
+     * @param grainSize size of ranges that are sorted sequentially
+     * @param limit minimum size of ranges that are partitioned in parallel
+     * @return the task
+     */
+    private ParallelTask sortTask(final DataModel model, final int start, final int end, final int depth,
+            final int grainSize, final int limit) {
+        return ParallelTask.of(() -> {
+            model.addArea(start, end);
+            // the largest sub-range is sorted by this task, so that tasks are nested at most logarithmically deep
+            final List<ParallelTask> forked = new ArrayList<>();
+            int from = start;
+            int to = end;
+            int d = depth;
+            while (to - from > grainSize && !this.end(model, from, to, d)) {
+                final int[] ranges;
+                if (to - from >= limit) {
+                    model.swap(from, this.calculatePivotPos(model, from, to));
+                    ranges = this.parallelPartition(model, from, to);
+                } else {
+                    this.placePivots(model, from, to);
+                    ranges = this.partition(model, from, to);
+                }
+                int largest = 0;
+                for (int i = 2; i < ranges.length; i += 2) {
+                    if (ranges[i + 1] - ranges[i] > ranges[largest + 1] - ranges[largest]) {
+                        largest = i;
+                    }
+                }
+                for (int i = 0; i < ranges.length; i += 2) {
+                    if (i != largest) {
+                        final ParallelTask task = sortTask(model, ranges[i], ranges[i + 1], d + 1, grainSize, limit);
+                        task.fork();
+                        forked.add(task);
+                    }
+                }
+                from = ranges[largest];
+                to = ranges[largest + 1];
+                d++;
+                model.changeArea(0, from, to);
+            }
+            if (to - from <= grainSize) {
+                this.sequential.sort(model, from, to, d);
+            }
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+            model.removeArea();
+        });
+    }
+
+    /**
+     * Partitions the values in the given range around the pivot at its start in parallel, using the auxiliary
+     * array. Only a single pivot is used, even if the sequential strategy partitions around two.
+     * See {@link PartitionStrategy#partition(DataModel, int, int)} for the returned sub-ranges.
+     *
+     * @param model data model
+     * @param start start of the range to be partitioned
+     * @param end end of the range to be partitioned (exclusive)
+     * @return sub-ranges that still have to be sorted
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private int[] parallelPartition(final DataModel model, final int start, final int end)
+            throws InterruptedException {
+        final int[] values = model.getValues();
+        final int[] copy = model.getCopy();
+        final int n = end - start;
+        final int numChunks = Math.min(TASKS_PER_THREAD * this.parallelism, n);
+        // class of each value: 0 if smaller than the pivot, 1 if equal and 2 if greater
+        final byte[] classes = new byte[n];
+        final int[][] counts = new int[numChunks][3];
+        model.setSpecial(start);
+
+        final List<ParallelTask> classify = new ArrayList<>(numChunks);
+        for (int c = 0; c < numChunks; c++) {
+            final int lo = start + (int) ((long) c * n / numChunks);
+            final int hi = start + (int) ((long) (c + 1) * n / numChunks);
+            final int[] count = counts[c];
+            classify.add(ParallelTask.of(() -> {
+                model.addArea(lo, hi);
+                for (int i = lo; i < hi; i++) {
+                    final int cls = i == start ? 1 : Integer.signum(model.compare(i, start)) + 1;
+                    classes[i - start] = (byte) cls;
+                    count[cls]++;
+                }
+                model.removeArea();
+            }));
+        }
+        ParallelTask.invokeAll(classify);
+
+        // turn the counts into the target positions of each chunk's values
+        final int[] next = { start, 0, 0 };
+        for (final int[] count : counts) {
+            next[1] += count[0];
+            next[2] += count[0] + count[1];
+        }
+        next[1] += start;
+        next[2] += start;
+        final int[] ranges = { start, next[1], next[2], end };
+        for (final int[] count : counts) {
+            for (int cls = 0; cls < 3; cls++) {
+                final int pos = next[cls];
+                next[cls] += count[cls];
+                count[cls] = pos;
+            }
+        }
+
+        final List<ParallelTask> scatter = new ArrayList<>(numChunks);
+        for (int c = 0; c < numChunks; c++) {
+            final int lo = start + (int) ((long) c * n / numChunks);
+            final int hi = start + (int) ((long) (c + 1) * n / numChunks);
+            final int[] pos = counts[c];
+            scatter.add(ParallelTask.of(() -> {
+                model.addArea(lo, hi);
+                for (int i = lo; i < hi; i++) {
+                    model.setValue(copy, pos[classes[i - start]]++, model.get(values, i));
+                }
+                model.removeArea();
+            }));
+        }
+        ParallelTask.invokeAll(scatter);
+
+        final List<ParallelTask> copyBack = new ArrayList<>(numChunks);
+        for (int c = 0; c < numChunks; c++) {
+            final int lo = start + (int) ((long) c * n / numChunks);
+            final int hi = start + (int) ((long) (c + 1) * n / numChunks);
+            copyBack.add(ParallelTask.of(() -> {
+                model.addArea(lo, hi);
+                for (int i = lo; i < hi; i++) {
+                    model.setValue(values, i, model.get(copy, i));
+                }
+                model.removeArea();
+            }));
+        }
+        ParallelTask.invokeAll(copyBack);
+        model.setSpecial(-1);
+        return ranges;
+    }
+}
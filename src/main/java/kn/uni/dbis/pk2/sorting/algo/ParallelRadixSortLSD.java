@@ -0,0 +1,176 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.Arrays;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Parallel variant of the {@link RadixSortLSD LSD Radix Sort} on bytes. The values are split into one chunk per
+ * worker thread. In every pass, each thread counts the digits of its chunk into a private histogram, the
+ * histograms are combined by a prefix sum over all buckets and chunks into private write offsets, and all threads
+ * scatter their chunk into the auxiliary array at the same time. Since the chunks are in order, every pass is
+ * stable. Digits that are the same for all values are skipped.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class ParallelRadixSortLSD implements Sorter {
+
+    /** Number of bits per digit. */
+    private static final int BITS = Byte.SIZE;
+
+    /** Number of buckets. */
+    private static final int RADIX = 1 << BITS;
+
+    /** Number of digits of a value. */
+    private static final int DIGITS = Integer.SIZE / BITS;
+
+    /** Smallest number of values per chunk. */
+    private static final int MIN_CHUNK = 1 << 10;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Creates a parallel radix sort that uses all available processors.
+     */
+    public ParallelRadixSortLSD() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a parallel radix sort.
+     *
+     * @param parallelism number of worker threads
+     */
+    public ParallelRadixSortLSD(final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("invalid parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        if (n < 2) {
+            return;
+        }
+        final int numChunks = Math.max(1, Math.min(this.parallelism, n / MIN_CHUNK));
+        final int[] bounds = new int[numChunks + 1];
+        for (int c = 0; c <= numChunks; c++) {
+            bounds[c] = (int) ((long) c * n / numChunks);
+        }
+        ParallelTask.invoke(this.parallelism, ParallelTask.of(() -> sort(model, bounds)));
+    }
+
+    /**
+     * Sorts the values with one parallel task per chunk in every phase.
+     *
+     * @param model data model
+     * @param bounds borders between the chunks
+     * @throws InterruptedException if a worker thread was interrupted
+     */
+    private static void sort(final DataModel model, final int[] bounds) throws InterruptedException {
+        final int[] values = model.getValues();
+        final int n = values.length;
+        final int numChunks = bounds.length - 1;
+
+        // histograms of all digits and check for sorted input in a single pass
+        final int[][][] digitCounts = new int[numChunks][DIGITS][RADIX];
+        final boolean[] unsorted = new boolean[numChunks];
+        ParallelTask.forEachChunk(bounds, c -> {
+            final int[][] count = digitCounts[c];
+            boolean sorted = true;
+            int prev = bounds[c] == 0 ? Integer.MIN_VALUE : model.get(bounds[c] - 1);
+            for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                final int val = model.get(i);
+                final int key = val ^ Integer.MIN_VALUE;
+                for (int d = 0; d < DIGITS; d++) {
+                    count[d][key >>> d * BITS & RADIX - 1]++;
+                }
+                sorted &= prev <= val;
+                prev = val;
+            }
+            unsorted[c] = !sorted;
+        });
+        boolean sorted = true;
+        for (final boolean u : unsorted) {
+            sorted &= !u;
+        }
+        if (sorted) {
+            return;
+        }
+
+        // a digit that all values share does not change their order
+        final int first = model.get(0) ^ Integer.MIN_VALUE;
+        final int[] digits = new int[DIGITS];
+        int passes = 0;
+        for (int d = 0; d < DIGITS; d++) {
+            final int bucket = first >>> d * BITS & RADIX - 1;
+            int total = 0;
+            for (final int[][] count : digitCounts) {
+                total += count[d][bucket];
+            }
+            if (total != n) {
+                digits[passes++] = d;
+            }
+        }
+
+        int[] in;
+        int[] out;
+        if (passes % 2 == 0) {
+            in = values;
+            out = model.createCopy();
+        } else {
+            in = model.createCopy();
+            out = values;
+        }
+        Arrays.fill(out, -1);
+
+        final int[][] counts = new int[numChunks][RADIX];
+        for (int p = 0; p < passes; p++) {
+            final int shift = digits[p] * BITS;
+            final int[] from = in;
+            final int[] to = out;
+
+            // the first pass can use the histograms of the initial values
+            if (p == 0) {
+                for (int c = 0; c < numChunks; c++) {
+                    System.arraycopy(digitCounts[c][digits[0]], 0, counts[c], 0, RADIX);
+                }
+            } else {
+                ParallelTask.forEachChunk(bounds, c -> {
+                    final int[] count = counts[c];
+                    Arrays.fill(count, 0);
+                    for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                        count[(model.get(from, i) ^ Integer.MIN_VALUE) >>> shift & RADIX - 1]++;
+                    }
+                });
+            }
+
+            // turn the counts into each chunk's write offsets, ordered by bucket and then by chunk
+            for (int b = 0, pos = 0; b < RADIX; b++) {
+                for (final int[] count : counts) {
+                    final int k = count[b];
+                    count[b] = pos;
+                    pos += k;
+                }
+            }
+
+            ParallelTask.forEachChunk(bounds, c -> {
+                final int[] next = counts[c];
+                model.addArea(bounds[c], bounds[c + 1]);
+                for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                    final int val = model.get(from, i);
+                    from[i] = -1;
+                    model.setValue(to, next[(val ^ Integer.MIN_VALUE) >>> shift & RADIX - 1]++, val);
+                }
+                model.removeArea();
+            });
+            in = to;
+            out = from;
+        }
+        model.destroyCopy();
+    }
+}
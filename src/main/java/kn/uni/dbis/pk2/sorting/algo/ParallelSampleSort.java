@@ -0,0 +1,293 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Parallel Sample Sort in the style of <a href="https://arxiv.org/abs/1705.02257">IPS4o</a> by Axtmann, Witt,
+ * Ferizovic and Sanders. A sorted sample of each range yields up to 127 splitters, which are stored as an implicit
+ * search tree so that every value is classified by a fixed number of comparisons whose results are added to the
+ * node index instead of being branched on. Values equal to a splitter get their own bucket, which needs no further
+ * sorting, so duplicates are handled in linear time.
+ *
+ * <p>The classification of a range is split into chunks that are processed in parallel. A prefix sum over the
+ * per-chunk bucket sizes gives every chunk private write positions in each bucket, so all chunks move their values
+ * into the auxiliary array at the same time, from where they are copied back in parallel. Finally, all buckets are
+ * sorted as independent fork/join tasks. Ranges that are sorted by a single thread move their values into the
+ * buckets in place along permutation cycles instead. Unlike IPS4o, the values are distributed one by one and not
+ * in blocks, and the parallel distribution is not in place.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class ParallelSampleSort implements Sorter {
+
+    /** Ranges of at most this many values are sorted using Insertion Sort. */
+    private static final int BASE_CASE_SIZE = 16;
+
+    /** Maximum number of leaves of the search tree, the number of buckets is {@code 2 * MAX_LEAVES - 1}. */
+    private static final int MAX_LEAVES = 128;
+
+    /** Smallest grain size that is chosen automatically. */
+    private static final int MIN_GRAIN = 1 << 12;
+
+    /** Number of tasks per thread, for the grain size and the classification chunks. */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /** Size of ranges that are sorted sequentially, {@code 0} for choosing it from the input size. */
+    private final int grain;
+
+    /**
+     * Creates a parallel sample sort that uses all available processors and chooses the grain size
+     * automatically.
+     */
+    public ParallelSampleSort() {
+        this(Runtime.getRuntime().availableProcessors(), 0);
+    }
+
+    /**
+     * Creates a parallel sample sort.
+     *
+     * @param parallelism number of worker threads
+     * @param grain size of ranges that are sorted sequentially, {@code 0} for choosing it so that every worker
+     *   thread gets a few ranges
+     */
+    public ParallelSampleSort(final int parallelism, final int grain) {
+        if (parallelism <= 0 || grain < 0) {
+            throw new IllegalArgumentException("invalid parallelism or grain size: " + parallelism + ", " + grain);
+        }
+        this.parallelism = parallelism;
+        this.grain = grain;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        final int grainSize = this.grain > 0 ? this.grain
+                : Math.max(MIN_GRAIN, n / (TASKS_PER_THREAD * this.parallelism));
+        if (n <= grainSize || this.parallelism == 1) {
+            sort(model, 0, n, 1, grainSize);
+        } else {
+            // all parallel distributions write into disjoint ranges of the same auxiliary array
+            model.createCopy();
+            ParallelTask.invoke(this.parallelism, ParallelTask.of(() -> sort(model, 0, n, this.parallelism,
+                    grainSize)));
+            model.destroyCopy();
+        }
+    }
+
+    /**
+     * Sorts the given range, using parallel tasks if it is larger than the grain size.
+     *
+     * @param model data model
+     * @param start start of the range to sort
+     * @param end end of the range to sort (exclusive)
+     * @param threads number of worker threads
+     * @param grainSize size of ranges that are sorted sequentially
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void sort(final DataModel model, final int start, final int end, final int threads,
+            final int grainSize) throws InterruptedException {
+        final int n = end - start;
+        if (n <= BASE_CASE_SIZE) {
+            InsertionSort.sort(model, start, end);
+            return;
+        }
+        final boolean parallel = threads > 1 && n > grainSize;
+        model.addArea(start, end);
+
+        // the splitters are taken from a sorted sample at the start of the range
+        final int logN = 31 - Integer.numberOfLeadingZeros(n);
+        final int leaves = Math.max(2, Math.min(MAX_LEAVES, Integer.highestOneBit(n / BASE_CASE_SIZE)));
+        final int oversampling = Math.max(1, logN / 5);
+        final int sampleSize = Math.min(n, oversampling * leaves - 1);
+        final ThreadLocalRandom rng = ThreadLocalRandom.current();
+        for (int i = 0; i < sampleSize; i++) {
+            model.swap(start + i, start + i + rng.nextInt(n - i));
+        }
+        sort(model, start, start + sampleSize, 1, grainSize);
+        final int[] splitters = new int[leaves - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = model.get(start + (i + 1) * oversampling - 1);
+        }
+        final int[] tree = new int[leaves];
+        buildTree(tree, 1, splitters, new int[1]);
+
+        // classify the values in parallel chunks
+        final int numBuckets = 2 * leaves - 1;
+        final int numChunks = parallel ? TASKS_PER_THREAD * threads : 1;
+        final int[] bounds = new int[numChunks + 1];
+        for (int c = 0; c <= numChunks; c++) {
+            bounds[c] = start + (int) ((long) c * n / numChunks);
+        }
+        // the bucket ids are bookkeeping like the counts, only their memory is accounted for
+        final int[] buckets = model.createBuffer(n);
+        final int[][] counts = new int[numChunks][numBuckets];
+        ParallelTask.forEachChunk(bounds, c -> {
+            final int[] count = counts[c];
+            model.addArea(bounds[c], bounds[c + 1]);
+            for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                final int bucket = classify(model, i, tree, splitters);
+                buckets[i - start] = bucket;
+                count[bucket]++;
+            }
+            model.removeArea();
+        });
+
+        final int[] bucketStarts = new int[numBuckets];
+        final int[] bucketEnds = new int[numBuckets];
+        for (int b = 0, pos = start; b < numBuckets; b++) {
+            bucketStarts[b] = pos;
+            for (final int[] count : counts) {
+                pos += count[b];
+            }
+            bucketEnds[b] = pos;
+        }
+        if (parallel) {
+            distribute(model, start, bounds, buckets, counts);
+        } else {
+            permute(model, start, buckets, bucketStarts, bucketEnds);
+        }
+        model.releaseBuffer(buckets);
+
+        // values in the odd buckets are equal to a splitter
+        final List<ParallelTask> recurse = new ArrayList<>();
+        for (int b = 0; b < numBuckets; b += 2) {
+            final int lo = bucketStarts[b];
+            final int hi = bucketEnds[b];
+            if (hi - lo > 1) {
+                if (parallel && hi - lo > grainSize) {
+                    recurse.add(ParallelTask.of(() -> sort(model, lo, hi, threads, grainSize)));
+                } else if (parallel) {
+                    recurse.add(ParallelTask.of(() -> sort(model, lo, hi, 1, grainSize)));
+                } else {
+                    sort(model, lo, hi, 1, grainSize);
+                }
+            }
+        }
+        if (!recurse.isEmpty()) {
+            ParallelTask.invokeAll(recurse);
+        }
+        model.removeArea();
+    }
+
+    /**
+     * Moves the classified values of a range into their buckets in parallel. Every chunk writes its values to
+     * private positions in the auxiliary array, from where all values are copied back.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param bounds borders between the chunks of the range
+     * @param buckets bucket of every value in the range
+     * @param counts number of values of each chunk in each bucket, overwritten with their write positions
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void distribute(final DataModel model, final int start, final int[] bounds, final int[] buckets,
+            final int[][] counts) throws InterruptedException {
+        // write positions of every chunk, ordered by bucket and then by chunk
+        for (int b = 0, pos = start; b < counts[0].length; b++) {
+            for (final int[] count : counts) {
+                final int k = count[b];
+                count[b] = pos;
+                pos += k;
+            }
+        }
+
+        final int[] values = model.getValues();
+        final int[] copy = model.getCopy();
+        ParallelTask.forEachChunk(bounds, c -> {
+            final int[] next = counts[c];
+            model.addArea(bounds[c], bounds[c + 1]);
+            for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                model.setValue(copy, next[buckets[i - start]]++, model.get(values, i));
+            }
+            model.removeArea();
+        });
+        ParallelTask.forEachChunk(bounds, c -> {
+            model.addArea(bounds[c], bounds[c + 1]);
+            for (int i = bounds[c]; i < bounds[c + 1]; i++) {
+                model.setValue(values, i, model.get(copy, i));
+            }
+            model.removeArea();
+        });
+    }
+
+    /**
+     * Moves the classified values of a range into their buckets in place along permutation cycles, using a single
+     * thread. Every swap moves at least one value into its bucket.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param buckets bucket of every value in the range, permuted along with the values
+     * @param bucketStarts start of every bucket
+     * @param bucketEnds end of every bucket
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void permute(final DataModel model, final int start, final int[] buckets,
+            final int[] bucketStarts, final int[] bucketEnds) throws InterruptedException {
+        final int[] heads = bucketStarts.clone();
+        model.addArea(start, start);
+        for (int b = 0; b < heads.length; b++) {
+            while (heads[b] < bucketEnds[b]) {
+                final int pos = heads[b];
+                final int target = buckets[pos - start];
+                if (target == b) {
+                    heads[b]++;
+                } else {
+                    final int dest = heads[target]++;
+                    model.swap(pos, dest);
+                    buckets[pos - start] = buckets[dest - start];
+                    buckets[dest - start] = target;
+                }
+                model.changeArea(0, bucketStarts[b], heads[b]);
+            }
+        }
+        model.removeArea();
+    }
+
+    /**
+     * Fills the implicit search tree with the sorted splitters by an in-order traversal.
+     *
+     * @param tree search tree, the children of node {@code i} are {@code 2 * i} and {@code 2 * i + 1}
+     * @param node current node
+     * @param splitters sorted splitters
+     * @param next index of the next splitter to insert
+     */
+    private static void buildTree(final int[] tree, final int node, final int[] splitters, final int[] next) {
+        if (node < tree.length) {
+            buildTree(tree, 2 * node, splitters, next);
+            tree[node] = splitters[next[0]++];
+            buildTree(tree, 2 * node + 1, splitters, next);
+        }
+    }
+
+    /**
+     * Determines the bucket of a value. The search tree's leaf is the number of splitters smaller than the value,
+     * values equal to the next splitter go into the bucket after that leaf's.
+     *
+     * @param model data model
+     * @param pos position of the value
+     * @param tree search tree of the splitters
+     * @param splitters sorted splitters
+     * @return the bucket
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int classify(final DataModel model, final int pos, final int[] tree, final int[] splitters)
+            throws InterruptedException {
+        final int[] values = model.getValues();
+        int node = 1;
+        while (node < tree.length) {
+            // one if the value is greater than the splitter, zero otherwise
+            node = 2 * node + (-model.compare(values, pos, tree, node) >>> 31);
+        }
+        final int leaf = node - tree.length;
+        final boolean equal = leaf < splitters.length && model.compare(values, pos, splitters, leaf) == 0;
+        return 2 * leaf + (equal ? 1 : 0);
+    }
+}
@@ -0,0 +1,148 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fork/join task of a parallel sorting algorithm, whose computation may be interrupted.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+abstract class ParallelTask extends RecursiveAction {
+
+    /** Serial version UID. */
+    private static final long serialVersionUID = 1L;
+
+    /** Computation of a task. */
+    @FunctionalInterface
+    interface Body {
+        /**
+         * Performs the computation.
+         *
+         * @throws InterruptedException if the worker thread was interrupted
+         */
+        void run() throws InterruptedException;
+    }
+
+    /** Computation on a single chunk of a range. */
+    @FunctionalInterface
+    interface ChunkBody {
+        /**
+         * Performs the computation.
+         *
+         * @param chunk index of the chunk
+         * @throws InterruptedException if the worker thread was interrupted
+         */
+        void run(int chunk) throws InterruptedException;
+    }
+
+    @Override
+    protected final void compute() {
+        try {
+            run();
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Performs the computation of this task.
+     *
+     * @throws InterruptedException if the worker thread was interrupted
+     */
+    abstract void run() throws InterruptedException;
+
+    /**
+     * Creates a task from the given computation.
+     *
+     * @param body computation of the task
+     * @return the task
+     */
+    static ParallelTask of(final Body body) {
+        return new ParallelTask() {
+            /** Serial version UID. */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            void run() throws InterruptedException {
+                body.run();
+            }
+        };
+    }
+
+    /**
+     * Runs the given computation for all chunks of a range in parallel and waits for its completion. A single
+     * chunk is processed by the current thread.
+     *
+     * @param bounds borders between the chunks
+     * @param body computation on a single chunk
+     * @throws InterruptedException if the current thread was interrupted
+     */
+    static void forEachChunk(final int[] bounds, final ChunkBody body) throws InterruptedException {
+        final int numChunks = bounds.length - 1;
+        if (numChunks == 1) {
+            body.run(0);
+            return;
+        }
+        final List<ParallelTask> tasks = new ArrayList<>(numChunks);
+        for (int c = 0; c < numChunks; c++) {
+            final int chunk = c;
+            tasks.add(of(() -> body.run(chunk)));
+        }
+        invokeAll(tasks);
+    }
+
+    /**
+     * Runs the given task in a new fork/join pool and waits for its completion. If the current thread is
+     * interrupted, the pool's worker threads are interrupted too. In any case, this method only returns after all
+     * workers have terminated, so that none of them modifies the data model afterwards.
+     *
+     * @param parallelism number of worker threads
+     * @param task task to run
+     * @throws InterruptedException if the current thread or one of the workers was interrupted
+     */
+    static void invoke(final int parallelism, final ParallelTask task) throws InterruptedException {
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(task).get();
+        } catch (final ExecutionException e) {
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof InterruptedException) {
+                    throw new InterruptedException();
+                }
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+                    : new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+            awaitTermination(pool);
+        }
+    }
+
+    /**
+     * Waits until all worker threads of the given pool, which has already been shut down, have terminated.
+     * Interrupts of the current thread are deferred until then.
+     *
+     * @param pool fork/join pool
+     */
+    private static void awaitTermination(final ForkJoinPool pool) {
+        boolean interrupted = false;
+        while (!pool.isTerminated()) {
+            try {
+                pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Orson Peters' <a href="https://arxiv.org/abs/2106.05123">Pattern-Defeating Quick Sort</a>. It partitions
+ * with the block partitioning scheme of <a href="https://arxiv.org/abs/1604.06697">BlockQuicksort</a>, which
+ * first records the positions of misplaced values in small blocks without branching on the comparison results
+ * and then swaps them in bulk. Ranges that were already partitioned are finished by a partial Insertion Sort,
+ * values equal to the pivot of the enclosing range are split off in linear time, and unbalanced partitions
+ * lead to swapping a few values to break patterns in the input. After too many of those, the range is sorted
+ * with {@link HeapSort Heap Sort}.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class PdqSort implements Sorter {
+
+    /** Ranges shorter than this are sorted using Insertion Sort. */
+    private static final int INSERTION_SORT_THRESHOLD = 24;
+
+    /** Ranges longer than this use Tukey's ninther for choosing the pivot. */
+    private static final int NINTHER_THRESHOLD = 128;
+
+    /** Maximum number of swaps of the partial Insertion Sort before it gives up. */
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;
+
+    /** Number of values whose comparison results are buffered at once. */
+    private static final int BLOCK_SIZE = 64;
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        if (n > 1) {
+            sort(model, 0, n, 32 - Integer.numberOfLeadingZeros(n), true);
+        }
+    }
+
+    /**
+     * Sorts the given range by recursing into the left part of every partition and iterating on the right one.
+     *
+     * @param model data model
+     * @param start start of the range to sort
+     * @param end end of the range to sort (exclusive)
+     * @param badPartitions number of unbalanced partitions allowed before falling back to Heap Sort
+     * @param leftmost flag indicating if the range is at the start of the values, otherwise the value before it is
+     *   not greater than all values in the range
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void sort(final DataModel model, final int start, final int end, final int badPartitions,
+            final boolean leftmost) throws InterruptedException {
+        model.addArea(start, end);
+        int begin = start;
+        int badAllowed = badPartitions;
+        boolean first = leftmost;
+        for (;;) {
+            model.changeArea(0, begin, end);
+            final int size = end - begin;
+            if (size < INSERTION_SORT_THRESHOLD) {
+                insertionSort(model, begin, end, first);
+                break;
+            }
+
+            // move the pivot to the start of the range
+            final int half = size / 2;
+            if (size > NINTHER_THRESHOLD) {
+                sort3(model, begin, begin + half, end - 1);
+                sort3(model, begin + 1, begin + half - 1, end - 2);
+                sort3(model, begin + 2, begin + half + 1, end - 3);
+                sort3(model, begin + half - 1, begin + half, begin + half + 1);
+                model.swap(begin, begin + half);
+            } else {
+                sort3(model, begin + half, begin, end - 1);
+            }
+
+            // the pivot equals the value before the range, so no value in it is smaller
+            if (!first && model.compare(begin - 1, begin) >= 0) {
+                begin = partitionLeft(model, begin, end) + 1;
+                continue;
+            }
+
+            final int[] result = partitionRight(model, begin, end);
+            final int pivotPos = result[0];
+            final boolean alreadyPartitioned = result[1] != 0;
+            final int leftSize = pivotPos - begin;
+            final int rightSize = end - (pivotPos + 1);
+            if (leftSize < size / 8 || rightSize < size / 8) {
+                if (--badAllowed == 0) {
+                    HeapSort.sort(model, begin, end);
+                    break;
+                }
+                breakPatterns(model, begin, pivotPos, end);
+            } else if (alreadyPartitioned && partialInsertionSort(model, begin, pivotPos)
+                    && partialInsertionSort(model, pivotPos + 1, end)) {
+                break;
+            }
+
+            sort(model, begin, pivotPos, badAllowed, first);
+            begin = pivotPos + 1;
+            first = false;
+        }
+        model.removeArea();
+    }
+
+    /**
+     * Swaps some values of both parts of an unbalanced partition, so that patterns in the input do not lead to
+     * bad pivots again.
+     *
+     * @param model data model
+     * @param begin start of the partitioned range
+     * @param pivotPos position of the pivot
+     * @param end end of the partitioned range (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void breakPatterns(final DataModel model, final int begin, final int pivotPos, final int end)
+            throws InterruptedException {
+        final int leftSize = pivotPos - begin;
+        final int rightSize = end - (pivotPos + 1);
+        if (leftSize >= INSERTION_SORT_THRESHOLD) {
+            final int quarter = leftSize / 4;
+            model.swap(begin, begin + quarter);
+            model.swap(pivotPos - 1, pivotPos - quarter);
+            if (leftSize > NINTHER_THRESHOLD) {
+                model.swap(begin + 1, begin + quarter + 1);
+                model.swap(begin + 2, begin + quarter + 2);
+                model.swap(pivotPos - 2, pivotPos - (quarter + 1));
+                model.swap(pivotPos - 3, pivotPos - (quarter + 2));
+            }
+        }
+        if (rightSize >= INSERTION_SORT_THRESHOLD) {
+            final int quarter = rightSize / 4;
+            model.swap(pivotPos + 1, pivotPos + 1 + quarter);
+            model.swap(end - 1, end - quarter);
+            if (rightSize > NINTHER_THRESHOLD) {
+                model.swap(pivotPos + 2, pivotPos + 2 + quarter);
+                model.swap(pivotPos + 3, pivotPos + 3 + quarter);
+                model.swap(end - 2, end - (1 + quarter));
+                model.swap(end - 3, end - (2 + quarter));
+            }
+        }
+    }
+
+    /**
+     * Swaps the values at the given positions if the second one is smaller than the first one.
+     *
+     * @param model data model
+     * @param a first position
+     * @param b second position
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void sort2(final DataModel model, final int a, final int b) throws InterruptedException {
+        if (model.compare(b, a) < 0) {
+            model.swap(a, b);
+        }
+    }
+
+    /**
+     * Sorts the values at the given three positions.
+     *
+     * @param model data model
+     * @param a first position
+     * @param b second position
+     * @param c third position
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void sort3(final DataModel model, final int a, final int b, final int c)
+            throws InterruptedException {
+        sort2(model, a, b);
+        sort2(model, b, c);
+        sort2(model, a, b);
+    }
+
+    /**
+     * Sorts the given range using Insertion Sort.
+     *
+     * @param model data model
+     * @param begin start of the range
+     * @param end end of the range (exclusive)
+     * @param leftmost flag indicating if the range is at the start of the values, otherwise the value before it
+     *   serves as a sentinel
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void insertionSort(final DataModel model, final int begin, final int end,
+            final boolean leftmost) throws InterruptedException {
+        if (leftmost) {
+            InsertionSort.sort(model, begin, end);
+            return;
+        }
+        for (int i = begin + 1; i < end; i++) {
+            model.setSpecial(i);
+            for (int j = i; model.compare(j - 1, j) > 0; j--) {
+                model.swap(j - 1, j);
+            }
+        }
+        model.setSpecial(-1);
+    }
+
+    /**
+     * Tries to sort the given range using Insertion Sort, but gives up if too many values are out of order.
+     *
+     * @param model data model
+     * @param begin start of the range
+     * @param end end of the range (exclusive)
+     * @return {@code true} if the range was sorted, {@code false} otherwise
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static boolean partialInsertionSort(final DataModel model, final int begin, final int end)
+            throws InterruptedException {
+        int moves = 0;
+        for (int i = begin + 1; i < end; i++) {
+            if (moves > PARTIAL_INSERTION_SORT_LIMIT) {
+                model.setSpecial(-1);
+                return false;
+            }
+            model.setSpecial(i);
+            for (int j = i; j > begin && model.compare(j - 1, j) > 0; j--) {
+                model.swap(j - 1, j);
+                moves++;
+            }
+        }
+        model.setSpecial(-1);
+        return true;
+    }
+
+    /**
+     * Partitions the given range around the pivot at its start, moving values equal to the pivot to the right.
+     * The block-wise partitioning records the offsets of values on the wrong side in two buffers, adding each
+     * comparison result to the number of recorded offsets instead of branching on it, and then swaps the values
+     * pairwise.
+     *
+     * @param model data model
+     * @param begin start of the range, containing the pivot
+     * @param end end of the range (exclusive), there has to be a value not smaller than the pivot in it
+     * @return the pivot's final position and {@code 1} if no values had to be swapped, {@code 0} otherwise
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int[] partitionRight(final DataModel model, final int begin, final int end)
+            throws InterruptedException {
+        model.setSpecial(begin);
+        // find the first value not smaller and the last value smaller than the pivot
+        int first = begin;
+        while (model.compare(++first, begin) < 0) {
+            // skip the smaller values at the start
+        }
+        int last = end;
+        if (first - 1 == begin) {
+            while (first < last && model.compare(--last, begin) >= 0) {
+                // skip the greater or equal values at the end
+            }
+        } else {
+            while (model.compare(--last, begin) >= 0) {
+                // skip the greater or equal values at the end
+            }
+        }
+
+        final boolean alreadyPartitioned = first >= last;
+        if (!alreadyPartitioned) {
+            // from now on, the value at the position last is the first one known to be on the right side
+            model.swap(first++, last);
+            model.addArea(first, last);
+
+            final int[] offsetsL = new int[BLOCK_SIZE];
+            final int[] offsetsR = new int[BLOCK_SIZE];
+            int numL = 0;
+            int numR = 0;
+            int startL = 0;
+            int startR = 0;
+            while (last - first > 2 * BLOCK_SIZE) {
+                if (numL == 0) {
+                    startL = 0;
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        offsetsL[numL] = i;
+                        numL += ~model.compare(first + i, begin) >>> 31;
+                    }
+                }
+                if (numR == 0) {
+                    startR = 0;
+                    for (int i = 0; i < BLOCK_SIZE; i++) {
+                        offsetsR[numR] = i + 1;
+                        numR += model.compare(last - (i + 1), begin) >>> 31;
+                    }
+                }
+                final int num = Math.min(numL, numR);
+                swapOffsets(model, first, last, offsetsL, startL, offsetsR, startR, num);
+                numL -= num;
+                numR -= num;
+                startL += num;
+                startR += num;
+                if (numL == 0) {
+                    first += BLOCK_SIZE;
+                }
+                if (numR == 0) {
+                    last -= BLOCK_SIZE;
+                }
+                model.changeArea(0, first, last);
+            }
+
+            // the remaining values do not fill two blocks
+            final int unknown = last - first - (numL != 0 || numR != 0 ? BLOCK_SIZE : 0);
+            final int sizeL;
+            final int sizeR;
+            if (numR != 0) {
+                sizeL = unknown;
+                sizeR = BLOCK_SIZE;
+            } else if (numL != 0) {
+                sizeL = BLOCK_SIZE;
+                sizeR = unknown;
+            } else {
+                sizeL = unknown / 2;
+                sizeR = unknown - sizeL;
+            }
+            if (unknown != 0 && numL == 0) {
+                startL = 0;
+                for (int i = 0; i < sizeL; i++) {
+                    offsetsL[numL] = i;
+                    numL += ~model.compare(first + i, begin) >>> 31;
+                }
+            }
+            if (unknown != 0 && numR == 0) {
+                startR = 0;
+                for (int i = 0; i < sizeR; i++) {
+                    offsetsR[numR] = i + 1;
+                    numR += model.compare(last - (i + 1), begin) >>> 31;
+                }
+            }
+            final int num = Math.min(numL, numR);
+            swapOffsets(model, first, last, offsetsL, startL, offsetsR, startR, num);
+            numL -= num;
+            numR -= num;
+            startL += num;
+            startR += num;
+            if (numL == 0) {
+                first += sizeL;
+            }
+            if (numR == 0) {
+                last -= sizeR;
+            }
+
+            // move the values of the block that is left over to the other side
+            if (numL != 0) {
+                while (numL-- > 0) {
+                    model.swap(first + offsetsL[startL + numL], --last);
+                }
+                first = last;
+            }
+            if (numR != 0) {
+                while (numR-- > 0) {
+                    model.swap(last - offsetsR[startR + numR], first++);
+                }
+            }
+            model.removeArea();
+        }
+
+        final int pivotPos = first - 1;
+        model.swap(begin, pivotPos);
+        model.setSpecial(-1);
+        return new int[] { pivotPos, alreadyPartitioned ? 1 : 0 };
+    }
+
+    /**
+     * Swaps the values at the recorded offsets of the left and right block pairwise.
+     *
+     * @param model data model
+     * @param first start of the left block
+     * @param last end of the right block (exclusive)
+     * @param offsetsL offsets of values in the left block, counted from its start
+     * @param startL first offset to use in the left block
+     * @param offsetsR offsets of values in the right block, counted backwards from its end
+     * @param startR first offset to use in the right block
+     * @param num number of values to swap
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static void swapOffsets(final DataModel model, final int first, final int last, final int[] offsetsL,
+            final int startL, final int[] offsetsR, final int startR, final int num) throws InterruptedException {
+        for (int i = 0; i < num; i++) {
+            model.swap(first + offsetsL[startL + i], last - offsetsR[startR + i]);
+        }
+    }
+
+    /**
+     * Partitions the given range around the pivot at its start, moving values equal to the pivot to the left.
+     * It is used if the pivot equals the value before the range, which means that there are no smaller values.
+     *
+     * @param model data model
+     * @param begin start of the range, containing the pivot
+     * @param end end of the range (exclusive)
+     * @return final position of the pivot
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private static int partitionLeft(final DataModel model, final int begin, final int end)
+            throws InterruptedException {
+        model.setSpecial(begin);
+        int first = begin;
+        int last = end;
+        while (model.compare(begin, --last) < 0) {
+            // skip the greater values at the end
+        }
+        if (last + 1 == end) {
+            while (first < last && model.compare(begin, ++first) >= 0) {
+                // skip the equal values at the start
+            }
+        } else {
+            while (model.compare(begin, ++first) >= 0) {
+                // skip the equal values at the start
+            }
+        }
+        model.addArea(first, last + 1);
+        while (first < last) {
+            model.swap(first, last);
+            while (model.compare(begin, --last) < 0) {
+                // skip greater values
+            }
+            while (model.compare(begin, ++first) >= 0) {
+                // skip equal values
+            }
+            model.changeArea(0, first, Math.max(first, last + 1));
+        }
+        model.removeArea();
+        model.swap(begin, last);
+        model.setSpecial(-1);
+        return last;
+    }
+}
@@ -48,15 +48,16 @@ public class QuickSort implements Sorter {
             @Override
             boolean end(final DataModel model, final int start, final int end, final int depth)
                     throws InterruptedException {
-                if (end - start < 2) {
-                    return true;
-                }
-                // 2 * log_2 n
-                if (depth == 2 * (31 - Integer.numberOfLeadingZeros(model.getLength()))) {
-                    HeapSort.sort(model, start, end);
-                    return true;
-                }
-                return false;
+                return heapSortIfTooDeep(model, start, end, depth, false);
+            }
+        },
+
+        /** Like {@link #MAX_LOG_DEPTH}, but falls back to the bottom-up Heap Sort, which needs fewer comparisons. */
+        MAX_LOG_DEPTH_BOTTOM_UP() {
+            @Override
+            boolean end(final DataModel model, final int start, final int end, final int depth)
+                    throws InterruptedException {
+                return heapSortIfTooDeep(model, start, end, depth, true);
             }
         };
 
@@ -71,6 +72,30 @@ public class QuickSort implements Sorter {
          * @throws InterruptedException if the sorting thread was interrupted
          */
         abstract boolean end(DataModel model, int start, int end, int depth) throws InterruptedException;
+
+        /**
+         * Sorts the range using Heap Sort if the recursion has reached a depth of {@code 2 * log_2 n}.
+         *
+         * @param model data model
+         * @param start start of the range to be sorted
+         * @param end end of the range to be sorted (exclusive)
+         * @param depth current depth of recursive descent
+         * @param bottomUp flag indicating that the bottom-up Heap Sort should be used
+         * @return {@code true} if no more recursion should occur, {@code false} otherwise
+         * @throws InterruptedException if the sorting thread was interrupted
+         */
+        private static boolean heapSortIfTooDeep(final DataModel model, final int start, final int end,
+                final int depth, final boolean bottomUp) throws InterruptedException {
+            if (end - start < 2) {
+                return true;
+            }
+            // 2 * log_2 n
+            if (depth == 2 * (31 - Integer.numberOfLeadingZeros(model.getLength()))) {
+                HeapSort.sort(model, start, end, 2, bottomUp);
+                return true;
+            }
+            return false;
+        }
     }
 
     /** Strategies for picking a pivot value. */
@@ -138,8 +163,62 @@ public class QuickSort implements Sorter {
                 model.removeArea();
                 return res;
             }
+        },
+
+        /**
+         * Sorts five evenly spaced samples of the range in place and picks the middle one. For two pivots, the second
+         * and fourth sample are used, as in Vladimir Yaroslavskiy's Dual-Pivot Quick Sort.
+         */
+        FIVE_SAMPLES() {
+            @Override
+            int calculatePivotPos(final Random rng, final DataModel model, final int start, final int end)
+                    throws InterruptedException {
+                final int n = end - start;
+                if (n < 2 * SAMPLES) {
+                    return MEDIAN_OF_THREE.calculatePivotPos(rng, model, start, end);
+                }
+                return sortSamples(model, start, end)[SAMPLES / 2];
+            }
+
+            @Override
+            void placePivots(final Random rng, final DataModel model, final int start, final int end,
+                    final int pivots) throws InterruptedException {
+                if (pivots == 1 || end - start < 2 * SAMPLES) {
+                    super.placePivots(rng, model, start, end, pivots);
+                    return;
+                }
+                final int[] samples = sortSamples(model, start, end);
+                model.swap(start, samples[1]);
+                model.swap(end - 1, samples[SAMPLES - 2]);
+            }
+
+            /**
+             * Sorts the samples with Insertion Sort and returns their positions.
+             *
+             * @param model data model
+             * @param start start of the range
+             * @param end end of the range (exclusive), there have to be at least {@code 2 * SAMPLES} values in it
+             * @return positions of the sorted samples, none of them is at the start or end of the range
+             * @throws InterruptedException if the sorting thread was interrupted
+             */
+            private int[] sortSamples(final DataModel model, final int start, final int end)
+                    throws InterruptedException {
+                final int n = end - start;
+                final int[] pos = new int[SAMPLES];
+                for (int i = 0; i < SAMPLES; i++) {
+                    pos[i] = start + (int) ((2L * i + 1) * n / (2 * SAMPLES));
+                }
+                for (int i = 1; i < SAMPLES; i++) {
+                    for (int j = i; j > 0 && model.compare(pos[j], pos[j - 1]) < 0; j--) {
+                        model.swap(pos[j], pos[j - 1]);
+                    }
+                }
+                return pos;
+            }
         };
 
+        /** Number of samples of {@link #FIVE_SAMPLES}. */
+        private static final int SAMPLES = 5;
 
         /**
          * Chooses the position of the pivot to be used, potentially reordering the values in the process.
@@ -153,13 +232,39 @@ public class QuickSort implements Sorter {
          */
         abstract int calculatePivotPos(Random rng, DataModel model, int start, int end)
                 throws InterruptedException;
+
+        /**
+         * Chooses the pivots to be used and moves them to their places. A single pivot is moved to the start of the
+         * range. Two pivots are chosen in the lower and upper half of the range and moved to its start and end, the
+         * smaller one first.
+         *
+         * @param rng random, number generator
+         * @param model data model
+         * @param start start of the range
+         * @param end end of the range (exclusive)
+         * @param pivots number of pivots, either {@code 1} or {@code 2}
+         * @throws InterruptedException if the sorting thread was interrupted
+         */
+        void placePivots(final Random rng, final DataModel model, final int start, final int end,
+                final int pivots) throws InterruptedException {
+            if (pivots == 1) {
+                model.swap(start, calculatePivotPos(rng, model, start, end));
+                return;
+            }
+            final int mid = start + (end - start) / 2;
+            model.swap(start, calculatePivotPos(rng, model, start, mid));
+            model.swap(end - 1, calculatePivotPos(rng, model, mid, end));
+            if (model.compare(start, end - 1) > 0) {
+                model.swap(start, end - 1);
+            }
+        }
     }
 
     /** Strategies for partitioning the values in a range relative to a pivot value. */
     public enum PartitionStrategy {
 
         /** Naïve partition strategy that does not treat values exactly equal to the pivot differently. */
-        NAIVE() {
+        NAIVE(1) {
             @Override
             int[] partition(final DataModel model, final int start, final int end) throws InterruptedException {
                 model.setSpecial(start);
@@ -184,12 +289,12 @@ public class QuickSort implements Sorter {
                 model.swap(start, r);
                 model.removeArea();
                 model.setSpecial(-1);
-                return new int[] { r, l };
+                return new int[] { start, r, l, end };
             }
         },
 
         /** Always keeps the values equal to the pivot in the middle between the smaller and the bigger ones. */
-        PIVOTS_MID() {
+        PIVOTS_MID(1) {
             @Override
             int[] partition(final DataModel model, final int start, final int end) throws InterruptedException {
                 model.setSpecial(start);
@@ -221,12 +326,12 @@ public class QuickSort implements Sorter {
                 }
                 model.removeArea();
                 model.setSpecial(-1);
-                return new int[] { l, r };
+                return new int[] { start, l, r, end };
             }
         },
 
         /** First moves all values equal to the pivot to the start of the range and swaps them back later. */
-        PIVOTS_LEFT() {
+        PIVOTS_LEFT(1) {
             @Override
             int[] partition(final DataModel model, final int start, final int end) throws InterruptedException {
                 model.setSpecial(start);
@@ -264,15 +369,75 @@ public class QuickSort implements Sorter {
                     model.swap(start + i, ltEnd - 1 - i);
                 }
                 model.setSpecial(-1);
-                return new int[] { start + ltEnd - pivEnd, gtStart };
+                return new int[] { start, start + ltEnd - pivEnd, gtStart, end };
+            }
+        },
+
+        /**
+         * Partitions around two pivots at the start and end of the range, as in Vladimir Yaroslavskiy's Dual-Pivot
+         * Quick Sort used by {@link java.util.Arrays#sort(int[])}. Values between the pivots are only sorted further
+         * if the pivots are different.
+         */
+        DUAL_PIVOT(2) {
+            @Override
+            int[] partition(final DataModel model, final int start, final int end) throws InterruptedException {
+                final int p = start;
+                final int q = end - 1;
+                model.setSpecial(p);
+                int less = start + 1;
+                int great = end - 2;
+                model.addArea(less, great + 1);
+                for (int k = less; k <= great; k++) {
+                    if (model.compare(k, p) < 0) {
+                        if (k != less) {
+                            model.swap(k, less);
+                        }
+                        less++;
+                    } else if (model.compare(k, q) > 0) {
+                        while (k < great && model.compare(great, q) > 0) {
+                            great--;
+                        }
+                        model.swap(k, great--);
+                        if (model.compare(k, p) < 0) {
+                            if (k != less) {
+                                model.swap(k, less);
+                            }
+                            less++;
+                        }
+                    }
+                    model.changeArea(0, k + 1, great + 1);
+                }
+                model.removeArea();
+                less--;
+                great++;
+                model.swap(p, less);
+                model.swap(q, great);
+                model.setSpecial(-1);
+                return model.compare(less, great) < 0 ? new int[] { start, less, less + 1, great, great + 1, end }
+                        : new int[] { start, less, great + 1, end };
             }
         };
 
+        /** Number of pivots the values are partitioned around. */
+        private final int pivots;
+
+        /**
+         * Constructor.
+         *
+         * @param pivots number of pivots the values are partitioned around
+         */
+        PartitionStrategy(final int pivots) {
+            this.pivots = pivots;
+        }
+
         /**
-         * Partitions the values in the given range into three sub-ranges and returns the two positions between those
-         * in an array {@code [pos1, pos2]}.
+         * Partitions the values in the given range around the pivots, which have been moved to the range's start
+         * (and end, for two pivots) by {@link PivotStrategy#placePivots(Random, DataModel, int, int, int)}.
+         * Returns the sub-ranges that still have to be sorted as {@code [start1, end1, start2, end2, ...]}, all
+         * values outside of them are at their final position. For a single pivot these are
+         * {@code [start, pos1, pos2, end]}, with
          * <ol>
-         *   <li> Values smaller than the pivot in the range {@code [start, pos1)},
+         *   <li> values smaller than the pivot in the range {@code [start, pos1)},
          *   <li> values equal to the pivot in the range {@code [pos1, pos2)},
          *   <li> and values greater than the pivot in the range {@code [pos2, end)}.
          * </ol>
@@ -280,7 +445,7 @@ public class QuickSort implements Sorter {
          * @param model data model
          * @param start start of the range to be partitioned
          * @param end end of the range to be partitioned (exclusive)
-         * @return borders between the three sub-ranges
+         * @return sub-ranges that still have to be sorted
          * @throws InterruptedException if the sorting thread was interrupted
          */
         abstract int[] partition(DataModel model, int start, int end) throws InterruptedException;
@@ -346,18 +511,26 @@ public class QuickSort implements Sorter {
     }
 
     /**
-     * Partitions the values in the given range into three sub-ranges and returns the two positions between those
-     * in an array {@code [pos1, pos2]}.
-     * <ol>
-     *   <li> Values smaller than the pivot in the range {@code [start, pos1)},
-     *   <li> values equal to the pivot in the range {@code [pos1, pos2)},
-     *   <li> and values greater than the pivot in the range {@code [pos2, end)}.
-     * </ol>
+     * Chooses the pivots for the partitioning strategy and moves them to their places.
+     *
+     * @param model data model
+     * @param start start of the range
+     * @param end end of the range (exclusive)
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    final void placePivots(final DataModel model, final int start, final int end) throws InterruptedException {
+        this.median.placePivots(rng, model, start, end, this.partition.pivots);
+    }
+
+    /**
+     * Partitions the values in the given range around the pivots and returns the sub-ranges that still have to be
+     * sorted as {@code [start1, end1, start2, end2, ...]}.
+     * See {@link PartitionStrategy#partition(DataModel, int, int)} for details.
      *
      * @param model data model
      * @param start start of the range to be partitioned
      * @param end end of the range to be partitioned (exclusive)
-     * @return borders between the three sub-ranges
+     * @return sub-ranges that still have to be sorted
      * @throws InterruptedException if the sorting thread was interrupted
      */
     final int[] partition(final DataModel model, final int start, final int end) throws InterruptedException {
@@ -387,10 +560,11 @@ public class QuickSort implements Sorter {
             return;
         }
         model.addArea(start, end);
-        model.swap(start, this.calculatePivotPos(model, start, end));
-        final int[] lr = this.partition(model, start, end);
-        sort(model, start, lr[0], depth + 1);
-        sort(model, lr[1], end, depth + 1);
+        this.placePivots(model, start, end);
+        final int[] ranges = this.partition(model, start, end);
+        for (int i = 0; i < ranges.length; i += 2) {
+            sort(model, ranges[i], ranges[i + 1], depth + 1);
+        }
         model.removeArea();
     }
 }
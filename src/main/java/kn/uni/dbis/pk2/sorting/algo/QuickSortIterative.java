@@ -27,16 +27,22 @@ public class QuickSortIterative extends QuickSort {
         int from = start;
         int to = end;
         while (!this.end(model, from, to, depth)) {
-            model.swap(from, this.calculatePivotPos(model, from, to));
-            final int[] lr = this.partition(model, from, to);
-            // sort the smaller part recursively
-            if (lr[0] - from <= to - lr[1]) {
-                sort(model, from, lr[0], depth + 1);
-                from = lr[1];
-            } else {
-                sort(model, lr[1], to, depth + 1);
-                to = lr[0];
+            this.placePivots(model, from, to);
+            final int[] ranges = this.partition(model, from, to);
+            // sort all but the largest part recursively
+            int largest = 0;
+            for (int i = 2; i < ranges.length; i += 2) {
+                if (ranges[i + 1] - ranges[i] > ranges[largest + 1] - ranges[largest]) {
+                    largest = i;
+                }
             }
+            for (int i = 0; i < ranges.length; i += 2) {
+                if (i != largest) {
+                    sort(model, ranges[i], ranges[i + 1], depth + 1);
+                }
+            }
+            from = ranges[largest];
+            to = ranges[largest + 1];
             model.changeArea(0, from, to);
         }
         model.removeArea();
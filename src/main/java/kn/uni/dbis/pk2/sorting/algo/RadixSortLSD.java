@@ -6,33 +6,76 @@ import kn.uni.dbis.pk2.sorting.DataModel;
 import kn.uni.dbis.pk2.sorting.Sorter;
 
 /**
- * Variant of the Radix Sort algorithm that sorts the least significant digit (i.e. bit) first.
+ * Variant of the Radix Sort algorithm that sorts the least significant digit first. A digit consists of a fixed
+ * number of bits, one by default. The histograms of all digits are built in a single pass over the values, and
+ * digits that are the same for all values are skipped. The sign bit is flipped, so negative values are sorted
+ * before positive ones.
  *
  * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
  */
 public class RadixSortLSD implements Sorter {
 
+    /** Number of bits per digit. */
+    private final int bits;
+
+    /**
+     * Creates a Radix Sort that sorts by one bit at a time.
+     */
+    public RadixSortLSD() {
+        this(1);
+    }
+
+    /**
+     * Creates a Radix Sort that sorts by digits of the given number of bits.
+     *
+     * @param bits number of bits per digit, between {@code 1} and {@code 16}
+     */
+    public RadixSortLSD(final int bits) {
+        if (bits < 1 || bits > 16) {
+            throw new IllegalArgumentException("invalid number of bits per digit: " + bits);
+        }
+        this.bits = bits;
+    }
+
     @Override
     public void sort(final DataModel model) throws InterruptedException {
         final int[] values = model.getValues();
         final int n = model.getLength();
+        if (n < 2) {
+            return;
+        }
 
-        int ones = values[0];
-        int zeroes = ~ones;
+        final int radix = 1 << this.bits;
+        final int mask = radix - 1;
+        final int numDigits = (Integer.SIZE + this.bits - 1) / this.bits;
+        final int[][] counts = new int[numDigits][radix];
         boolean sorted = true;
-        for (int i = 1; i < n; i++) {
-            ones &= values[i];
-            zeroes &= ~values[i];
-            sorted &= values[i - 1] <= values[i];
+        for (int i = 0, prev = Integer.MIN_VALUE; i < n; i++) {
+            final int val = model.get(i);
+            final int key = val ^ Integer.MIN_VALUE;
+            for (int d = 0; d < numDigits; d++) {
+                counts[d][key >>> d * this.bits & mask]++;
+            }
+            sorted &= prev <= val;
+            prev = val;
         }
         if (sorted) {
             return;
         }
 
-        final int changingBits = 32 - Integer.numberOfLeadingZeros(~(ones | zeroes));
+        // a digit that all values share does not change their order
+        final int first = model.get(0) ^ Integer.MIN_VALUE;
+        final int[] digits = new int[numDigits];
+        int passes = 0;
+        for (int d = 0; d < numDigits; d++) {
+            if (counts[d][first >>> d * this.bits & mask] != n) {
+                digits[passes++] = d;
+            }
+        }
+
         int[] in;
         int[] out;
-        if (changingBits % 2 == 0) {
+        if (passes % 2 == 0) {
             in = values;
             out = model.createCopy();
         } else {
@@ -41,39 +84,32 @@ public class RadixSortLSD implements Sorter {
         }
         Arrays.fill(out, -1);
 
-        for (int bit = 0; bit < changingBits; bit++) {
-            final int mask = 1 << bit;
-            int z = 0;
-            int o = 0;
-            for (int i = 0; i < n; i++) {
-                if ((in[i] & mask) == 0) {
-                    o++;
-                }
+        final int[] starts = new int[radix];
+        final int[] next = new int[radix];
+        for (int p = 0; p < passes; p++) {
+            final int shift = digits[p] * this.bits;
+            final int[] count = counts[digits[p]];
+            for (int b = 0, pos = 0; b < radix; b++) {
+                starts[b] = pos;
+                next[b] = pos;
+                pos += count[b];
             }
-            final int m = o;
             model.addArea(0, 0);
             model.addArea(0, 0);
-            model.addArea(m, m);
             for (int i = 0; i < n; i++) {
-                model.changeArea(2, i, i + 1);
-                final int val = in[i];
+                model.changeArea(1, i, i + 1);
+                final int val = model.get(in, i);
                 in[i] = -1;
-                final int pos;
-                if ((val & mask) == 0) {
-                    pos = z++;
-                    model.changeArea(1, 0, z);
-                } else {
-                    pos = o++;
-                    model.changeArea(0, m, o);
-                }
+                final int bucket = (val ^ Integer.MIN_VALUE) >>> shift & mask;
+                final int pos = next[bucket]++;
+                model.changeArea(0, starts[bucket], pos + 1);
                 model.setSpecialValue(val);
                 model.setValue(out, pos, val);
             }
             model.removeArea();
             model.removeArea();
-            model.removeArea();
             model.setSpecial(-1);
-            final int [] temp = in;
+            final int[] temp = in;
             in = out;
             out = temp;
         }
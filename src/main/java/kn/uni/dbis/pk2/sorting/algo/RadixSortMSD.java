@@ -12,15 +12,20 @@ public class RadixSortMSD implements Sorter {
 
     @Override
     public void sort(final DataModel model) throws InterruptedException {
-        final int[] values = model.getValues();
-        final int n = values.length;
-        int ones = values[0];
+        final int n = model.getLength();
+        if (n < 2) {
+            return;
+        }
+        int prev = model.get(0);
+        int ones = prev;
         int zeroes = ~ones;
         boolean sorted = true;
         for (int i = 1; i < n; i++) {
-            ones &= values[i];
-            zeroes &= ~values[i];
-            sorted &= values[i - 1] <= values[i];
+            final int val = model.get(i);
+            ones &= val;
+            zeroes &= ~val;
+            sorted &= prev <= val;
+            prev = val;
         }
         if (sorted) {
             return;
@@ -44,7 +49,6 @@ public class RadixSortMSD implements Sorter {
         if (start >= end) {
             return;
         }
-        final int[] values = model.getValues();
         if (end - start < model.getLength()) {
             model.addArea(start, end);
         }
@@ -54,7 +58,8 @@ public class RadixSortMSD implements Sorter {
         while (l < r) {
             model.setSpecial(l);
             model.pause(false);
-            if ((values[l] & mask) == 0) {
+            // values with the sign bit set are negative and come first
+            if ((model.get(l) & mask) == 0 ^ mask == Integer.MIN_VALUE) {
                 l++;
             } else {
                 model.swap(l, --r);
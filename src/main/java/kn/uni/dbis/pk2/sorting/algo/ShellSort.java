@@ -1,5 +1,9 @@
 package kn.uni.dbis.pk2.sorting.algo;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import kn.uni.dbis.pk2.sorting.DataModel;
 import kn.uni.dbis.pk2.sorting.Sorter;
 
@@ -10,18 +14,148 @@ import kn.uni.dbis.pk2.sorting.Sorter;
  */
 public final class ShellSort implements Sorter {
 
+    /** Maximum number of values of a gap's chain that are highlighted. */
+    private static final int MAX_CHAIN_AREAS = 64;
+
+    /** Sequences of gaps, all of them are generated up to the number of values to sort. */
+    public enum GapSequence {
+
+        /** Marcin Ciura's experimentally determined sequence, extended by factors of {@code 2.25}. */
+        CIURA() {
+            @Override
+            int[] gaps(final int n) {
+                final List<Long> gaps = new ArrayList<>();
+                for (final long gap : new long[] { 1, 4, 10, 23, 57, 132, 301, 701 }) {
+                    gaps.add(gap);
+                }
+                for (long gap = 701; gap < n;) {
+                    gap = (long) (gap * 2.25);
+                    gaps.add(gap);
+                }
+                return descending(gaps, n);
+            }
+        },
+
+        /** Naoyuki Tokuda's sequence {@code ceil((9^k - 4^k) / (5 * 4^(k-1)))}. */
+        TOKUDA() {
+            @Override
+            int[] gaps(final int n) {
+                final List<Long> gaps = new ArrayList<>();
+                gaps.add(1L);
+                long gap = 1;
+                for (int k = 2; gap < n; k++) {
+                    gap = (long) Math.ceil((Math.pow(9, k) - Math.pow(4, k)) / (5 * Math.pow(4, k - 1)));
+                    gaps.add(gap);
+                }
+                return descending(gaps, n);
+            }
+        },
+
+        /** Robert Sedgewick's sequence {@code 4^k + 3 * 2^(k-1) + 1}, starting with {@code 1}. */
+        SEDGEWICK() {
+            @Override
+            int[] gaps(final int n) {
+                final List<Long> gaps = new ArrayList<>();
+                gaps.add(1L);
+                long gap = 1;
+                for (int k = 1; gap < n; k++) {
+                    gap = (1L << 2 * k) + 3 * (1L << k - 1) + 1;
+                    gaps.add(gap);
+                }
+                return descending(gaps, n);
+            }
+        },
+
+        /** Vaughan Pratt's sequence of all numbers {@code 2^p * 3^q}, which needs {@code O(log^2 n)} passes. */
+        PRATT() {
+            @Override
+            int[] gaps(final int n) {
+                final List<Long> gaps = new ArrayList<>();
+                final int limit = Math.max(n, 2);
+                for (long pow3 = 1; pow3 < limit; pow3 *= 3) {
+                    for (long gap = pow3; gap < limit; gap *= 2) {
+                        gaps.add(gap);
+                    }
+                }
+                Collections.sort(gaps);
+                return descending(gaps, n);
+            }
+        },
+
+        /** Donald Knuth's sequence {@code (3^k - 1) / 2}, up to a third of the number of values. */
+        KNUTH() {
+            @Override
+            int[] gaps(final int n) {
+                final List<Long> gaps = new ArrayList<>();
+                for (long gap = 1; gap == 1 || gap <= n / 3; gap = 3 * gap + 1) {
+                    gaps.add(gap);
+                }
+                return descending(gaps, n);
+            }
+        };
+
+        /**
+         * Generates the gaps for sorting the given number of values.
+         *
+         * @param n number of values to sort
+         * @return gaps smaller than {@code n} in descending order, ending with {@code 1}
+         */
+        abstract int[] gaps(int n);
+
+        /**
+         * Returns the given gaps that are smaller than the number of values in descending order. The last gap
+         * {@code 1} is always kept.
+         *
+         * @param gaps gaps in ascending order, starting with {@code 1}
+         * @param n number of values to sort
+         * @return gaps in descending order
+         */
+        static int[] descending(final List<Long> gaps, final int n) {
+            int size = 1;
+            while (size < gaps.size() && gaps.get(size) < n) {
+                size++;
+            }
+            final int[] array = new int[size];
+            for (int i = 0; i < size; i++) {
+                array[i] = (int) (long) gaps.get(size - 1 - i);
+            }
+            return array;
+        }
+    }
+
     /** Sequence of gaps to use. */
-    private static final int[] GAPS = { 701, 301, 132, 57, 23, 10, 4, 1 };
+    private final GapSequence sequence;
+
+    /**
+     * Creates a Shell Sort using the extended version of Ciura's gap sequence.
+     */
+    public ShellSort() {
+        this(GapSequence.CIURA);
+    }
+
+    /**
+     * Creates a Shell Sort using the given gap sequence.
+     *
+     * @param sequence sequence of gaps to use
+     */
+    public ShellSort(final GapSequence sequence) {
+        this.sequence = sequence;
+    }
 
     @Override
     public void sort(final DataModel model) throws InterruptedException {
         final int n = model.getLength();
-        for (final int gap : GAPS) {
+        for (final int gap : this.sequence.gaps(n)) {
             for (int i = gap; i < n; i++) {
                 int k = 0;
-                for (int j = i; j >= 0; j -= gap) {
-                    model.addArea(j, j + 1);
+                if (gap == 1) {
+                    model.addArea(0, i + 1);
                     k++;
+                } else {
+                    for (int j = i; j >= 0 && k < MAX_CHAIN_AREAS; j -= gap) {
+                        model.addArea(j, j + 1);
+                        k++;
+                    }
                 }
                 model.setSpecial(i);
                 for (int j = i; j >= gap && model.compare(j - gap, j) > 0; j -= gap) {
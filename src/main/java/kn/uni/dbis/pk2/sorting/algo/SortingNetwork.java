@@ -0,0 +1,172 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Batcher's sorting networks, which perform the same sequence of compare-exchange operations for all inputs of a
+ * given size. The network is built for the next power of two, padded with virtual values that are greater than
+ * all others. Since every comparator moves the smaller value to the lower position, the padding never moves and
+ * all comparators that touch it can be dropped, so any number of values can be sorted.
+ *
+ * <p>The comparators of a stage are independent of each other. The values are split into one chunk per worker
+ * thread, every thread executes the comparators whose lower position lies in its chunk, and all threads wait for
+ * each other before the next stage.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class SortingNetwork implements Sorter {
+
+    /** Smallest number of values per chunk. */
+    private static final int MIN_CHUNK = 1 << 10;
+
+    /**
+     * Sorting networks. Both consist of {@code log n} merge phases {@code p = 1, 2, 4, ...} that merge sorted
+     * sequences of length {@code p}, and every phase consists of the stages {@code k = p, p / 2, ..., 1}.
+     */
+    public enum Network {
+
+        /**
+         * Bitonic Sort. The first stage of a phase compares the values of each block of length {@code 2p} with
+         * their mirror image, the remaining stages compare values at distance {@code k} within blocks of length
+         * {@code 2k}.
+         */
+        BITONIC() {
+            @Override
+            int partner(final int pos, final int p, final int k) {
+                final int partner = pos ^ (k == p ? 2 * p - 1 : k);
+                return partner > pos ? partner : -1;
+            }
+        },
+
+        /**
+         * Odd-Even Merge Sort. The first stage of a phase compares values at distance {@code p}, the remaining
+         * stages compare values at distance {@code k} that lie in the same block of length {@code 2p}, skipping
+         * the first {@code k} values of that block. This needs fewer comparators than the Bitonic Sort.
+         */
+        ODD_EVEN_MERGE() {
+            @Override
+            int partner(final int pos, final int p, final int k) {
+                // all distances are powers of two, so the divisions are replaced by bit operations
+                final int offset = k == p ? 0 : k;
+                final int partner = pos + k;
+                if (pos < offset || ((pos - offset) & k) != 0 || ((pos ^ partner) & -2 * p) != 0) {
+                    return -1;
+                }
+                return partner;
+            }
+        };
+
+        /**
+         * Returns the position that the given one is compared to in a stage, if it is the lower one.
+         *
+         * @param pos position
+         * @param p length of the sorted sequences that are merged in the current phase
+         * @param k stage of the phase
+         * @return greater position to compare to, or {@code -1} if there is none
+         */
+        abstract int partner(int pos, int p, int k);
+    }
+
+    /** Sorting network. */
+    private final Network network;
+
+    /** Number of worker threads. */
+    private final int parallelism;
+
+    /**
+     * Creates a sorting network that uses all available processors.
+     *
+     * @param network sorting network
+     */
+    public SortingNetwork(final Network network) {
+        this(network, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a sorting network.
+     *
+     * @param network sorting network
+     * @param parallelism number of worker threads
+     */
+    public SortingNetwork(final Network network, final int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("invalid parallelism: " + parallelism);
+        }
+        this.network = network;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public void sort(final DataModel model) throws InterruptedException {
+        final int n = model.getLength();
+        final int numChunks = Math.max(1, Math.min(this.parallelism, n / MIN_CHUNK));
+        final int[] bounds = new int[numChunks + 1];
+        for (int c = 0; c <= numChunks; c++) {
+            bounds[c] = (int) ((long) c * n / numChunks);
+        }
+        if (numChunks == 1) {
+            sort(model, bounds);
+        } else {
+            ParallelTask.invoke(this.parallelism, ParallelTask.of(() -> sort(model, bounds)));
+        }
+    }
+
+    /**
+     * Executes all stages of the network, the chunks of a stage in parallel if there is more than one.
+     *
+     * @param model data model
+     * @param bounds borders between the chunks
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void sort(final DataModel model, final int[] bounds) throws InterruptedException {
+        final int n = model.getLength();
+        final int numChunks = bounds.length - 1;
+        for (int p = 1; p < n; p *= 2) {
+            for (int k = p; k >= 1; k /= 2) {
+                if (numChunks == 1) {
+                    stage(model, 0, n, p, k);
+                } else {
+                    final int phase = p;
+                    final int step = k;
+                    final List<ParallelTask> tasks = new ArrayList<>(numChunks);
+                    for (int c = 0; c < numChunks; c++) {
+                        final int lo = bounds[c];
+                        final int hi = bounds[c + 1];
+                        tasks.add(ParallelTask.of(() -> stage(model, lo, hi, phase, step)));
+                    }
+                    ParallelTask.invokeAll(tasks);
+                }
+            }
+            if (p > n / 2) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Executes the comparators of a stage whose lower position lies in the given chunk.
+     *
+     * @param model data model
+     * @param start start of the chunk
+     * @param end end of the chunk (exclusive)
+     * @param p length of the sorted sequences that are merged in the current phase
+     * @param k stage of the phase
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void stage(final DataModel model, final int start, final int end, final int p, final int k)
+            throws InterruptedException {
+        final int n = model.getLength();
+        model.addArea(start, end);
+        for (int pos = start; pos < end; pos++) {
+            final int partner = this.network.partner(pos, p, k);
+            if (partner >= 0 && partner < n && model.compare(pos, partner) > 0) {
+                model.swap(pos, partner);
+            }
+        }
+        model.removeArea();
+    }
+}
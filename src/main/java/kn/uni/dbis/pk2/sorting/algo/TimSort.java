@@ -0,0 +1,626 @@
+package kn.uni.dbis.pk2.sorting.algo;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Sorter;
+
+/**
+ * Tim Peters' <a href="https://github.com/python/cpython/blob/main/Objects/listsort.txt">TimSort</a> algorithm,
+ * a natural merge sort that extends short runs with binary insertion sort, keeps a stack of pending runs whose
+ * lengths grow at least like the Fibonacci numbers, and switches to <em>galloping</em> (exponential search) while
+ * merging when one run keeps winning. Only the shorter of the two runs is moved into an auxiliary buffer, which
+ * grows on demand and thus never holds more than {@code min(len1, len2)} values of the largest merge, rounded up
+ * to a power of two.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TimSort implements Sorter {
+
+    /** Arrays shorter than this are sorted by binary insertion sort only. */
+    private static final int MIN_MERGE = 32;
+
+    /** Initial number of consecutive wins of one run after which galloping starts. */
+    private static final int MIN_GALLOP = 7;
+
+    /** Initial length of the merge buffer. */
+    private static final int INITIAL_TMP_LENGTH = 256;
+
+    /** Data model. */
+    private DataModel model;
+
+    /** Values to sort. */
+    private int[] values;
+
+    /** Buffer for the shorter run of a merge, starting at index {@code 0}. */
+    private int[] tmp;
+
+    /** Current threshold for entering galloping mode. */
+    private int minGallop;
+
+    /** Start positions of the pending runs. */
+    private int[] runBase;
+
+    /** Lengths of the pending runs. */
+    private int[] runLen;
+
+    /** Number of pending runs. */
+    private int stackSize;
+
+    @Override
+    public void sort(final DataModel dataModel) throws InterruptedException {
+        this.model = dataModel;
+        this.values = dataModel.getValues();
+        final int n = this.values.length;
+        if (n < 2) {
+            return;
+        }
+        if (n < MIN_MERGE) {
+            final int initRunLen = countRunAndMakeAscending(0, n);
+            binarySort(0, n, initRunLen);
+            return;
+        }
+
+        this.tmp = dataModel.createBuffer(Math.min(n >>> 1, INITIAL_TMP_LENGTH));
+        this.minGallop = MIN_GALLOP;
+        // the run lengths grow at least like the Fibonacci numbers
+        this.runBase = new int[40];
+        this.runLen = new int[40];
+        this.stackSize = 0;
+
+        final int minRun = minRunLength(n);
+        int lo = 0;
+        int remaining = n;
+        do {
+            int len = countRunAndMakeAscending(lo, lo + remaining);
+            if (len < minRun) {
+                final int force = Math.min(remaining, minRun);
+                binarySort(lo, lo + force, lo + len);
+                len = force;
+            }
+            this.runBase[this.stackSize] = lo;
+            this.runLen[this.stackSize] = len;
+            this.stackSize++;
+            mergeCollapse();
+            lo += len;
+            remaining -= len;
+        } while (remaining != 0);
+        mergeForceCollapse();
+
+        dataModel.releaseBuffer(this.tmp);
+        this.tmp = null;
+    }
+
+    /**
+     * Makes sure that the merge buffer can hold at least the given number of values. It grows to the next power of
+     * two, but never beyond half of the values, since the shorter run of a merge cannot be longer than that.
+     *
+     * @param minCapacity number of values the buffer has to hold
+     */
+    private void ensureCapacity(final int minCapacity) {
+        if (this.tmp.length < minCapacity) {
+            final int capacity = Math.min(Integer.highestOneBit(minCapacity - 1) << 1, this.values.length >>> 1);
+            this.model.releaseBuffer(this.tmp);
+            this.tmp = this.model.createBuffer(Math.max(capacity, minCapacity));
+        }
+    }
+
+    /**
+     * Computes the minimum length of a run: {@code n} itself if it is small, otherwise a value between
+     * {@code MIN_MERGE / 2} and {@code MIN_MERGE} such that {@code n / minRun} is close to a power of two.
+     *
+     * @param length number of values to sort
+     * @return minimum run length
+     */
+    private static int minRunLength(final int length) {
+        int n = length;
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+        return n + r;
+    }
+
+    /**
+     * Determines the length of the run starting at {@code lo} and reverses it if it is strictly descending.
+     *
+     * @param lo start of the run
+     * @param hi end of the range that may contain the run
+     * @return length of the run
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private int countRunAndMakeAscending(final int lo, final int hi) throws InterruptedException {
+        int runHi = lo + 1;
+        if (runHi == hi) {
+            return 1;
+        }
+        this.model.addArea(lo, runHi + 1);
+        if (this.model.compare(runHi++, lo) < 0) {
+            while (runHi < hi && this.model.compare(runHi, runHi - 1) < 0) {
+                runHi++;
+                this.model.changeArea(0, lo, runHi);
+            }
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                this.model.swap(i, j);
+            }
+        } else {
+            while (runHi < hi && this.model.compare(runHi, runHi - 1) >= 0) {
+                runHi++;
+                this.model.changeArea(0, lo, runHi);
+            }
+        }
+        this.model.removeArea();
+        return runHi - lo;
+    }
+
+    /**
+     * Sorts the given range with binary insertion sort, the first values of which are already sorted.
+     *
+     * @param lo start of the range
+     * @param hi end of the range
+     * @param sortedEnd end of the sorted prefix
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void binarySort(final int lo, final int hi, final int sortedEnd) throws InterruptedException {
+        this.model.addArea(lo, hi);
+        for (int start = sortedEnd == lo ? lo + 1 : sortedEnd; start < hi; start++) {
+            this.model.setSpecial(start);
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                final int mid = (left + right) >>> 1;
+                if (this.model.compare(start, mid) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            final int pivot = this.model.get(start);
+            for (int p = start; p > left; p--) {
+                this.model.setValue(p, this.model.get(p - 1));
+            }
+            this.model.setValue(left, pivot);
+            this.model.changeArea(0, start + 1, hi);
+        }
+        this.model.setSpecial(-1);
+        this.model.removeArea();
+    }
+
+    /**
+     * Merges runs on the stack until the invariants {@code runLen[i - 2] > runLen[i - 1] + runLen[i]} and
+     * {@code runLen[i - 1] > runLen[i]} hold for all runs.
+     *
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void mergeCollapse() throws InterruptedException {
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && this.runLen[n - 1] <= this.runLen[n] + this.runLen[n + 1]
+                    || n > 1 && this.runLen[n - 2] <= this.runLen[n] + this.runLen[n - 1]) {
+                if (this.runLen[n - 1] < this.runLen[n + 1]) {
+                    n--;
+                }
+            } else if (this.runLen[n] > this.runLen[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges all runs on the stack until only one remains.
+     *
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void mergeForceCollapse() throws InterruptedException {
+        while (this.stackSize > 1) {
+            int n = this.stackSize - 2;
+            if (n > 0 && this.runLen[n - 1] < this.runLen[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges the two runs at stack positions {@code i} and {@code i + 1}.
+     *
+     * @param i stack position of the first run
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void mergeAt(final int i) throws InterruptedException {
+        int base1 = this.runBase[i];
+        int len1 = this.runLen[i];
+        final int base2 = this.runBase[i + 1];
+        int len2 = this.runLen[i + 1];
+
+        this.runLen[i] = len1 + len2;
+        if (i == this.stackSize - 3) {
+            this.runBase[i + 1] = this.runBase[i + 2];
+            this.runLen[i + 1] = this.runLen[i + 2];
+        }
+        this.stackSize--;
+
+        this.model.addArea(base1, base2 + len2);
+        // values of the first run that are not greater than the start of the second one are already in place
+        final int k = gallopRight(this.values, base2, this.values, base1, len1, 0);
+        base1 += k;
+        len1 -= k;
+        if (len1 > 0) {
+            // values of the second run that are not smaller than the end of the first one are already in place
+            len2 = gallopLeft(this.values, base1 + len1 - 1, this.values, base2, len2, len2 - 1);
+            if (len2 > 0) {
+                this.model.changeArea(0, base1, base2 + len2);
+                if (len1 <= len2) {
+                    mergeLo(base1, len1, base2, len2);
+                } else {
+                    mergeHi(base1, len1, base2, len2);
+                }
+            }
+        }
+        this.model.removeArea();
+    }
+
+    /**
+     * Finds the position at which the key has to be inserted into the sorted range, before all equal values.
+     * The search starts at the hint and proceeds in exponentially growing steps before switching to binary search.
+     *
+     * @param keyArray array containing the key
+     * @param key position of the key
+     * @param array sorted array to search in
+     * @param base start of the sorted range
+     * @param len length of the sorted range
+     * @param hint offset in the range at which to start the search
+     * @return number of values in the range that are smaller than the key
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private int gallopLeft(final int[] keyArray, final int key, final int[] array, final int base, final int len,
+            final int hint) throws InterruptedException {
+        int lastOfs = 0;
+        int ofs = 1;
+        if (this.model.compare(keyArray, key, array, base + hint) > 0) {
+            // gallop right until array[base + hint + lastOfs] < key <= array[base + hint + ofs]
+            final int maxOfs = len - hint;
+            while (ofs < maxOfs && this.model.compare(keyArray, key, array, base + hint + ofs) > 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        } else {
+            // gallop left until array[base + hint - ofs] < key <= array[base + hint - lastOfs]
+            final int maxOfs = hint + 1;
+            while (ofs < maxOfs && this.model.compare(keyArray, key, array, base + hint - ofs) <= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            final int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        }
+
+        // binary search in array[base + lastOfs + 1, base + ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            final int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (this.model.compare(keyArray, key, array, base + m) > 0) {
+                lastOfs = m + 1;
+            } else {
+                ofs = m;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Finds the position at which the key has to be inserted into the sorted range, after all equal values.
+     * The search starts at the hint and proceeds in exponentially growing steps before switching to binary search.
+     *
+     * @param keyArray array containing the key
+     * @param key position of the key
+     * @param array sorted array to search in
+     * @param base start of the sorted range
+     * @param len length of the sorted range
+     * @param hint offset in the range at which to start the search
+     * @return number of values in the range that are smaller than or equal to the key
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private int gallopRight(final int[] keyArray, final int key, final int[] array, final int base, final int len,
+            final int hint) throws InterruptedException {
+        int ofs = 1;
+        int lastOfs = 0;
+        if (this.model.compare(keyArray, key, array, base + hint) < 0) {
+            // gallop left until array[base + hint - ofs] <= key < array[base + hint - lastOfs]
+            final int maxOfs = hint + 1;
+            while (ofs < maxOfs && this.model.compare(keyArray, key, array, base + hint - ofs) < 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            final int temp = lastOfs;
+            lastOfs = hint - ofs;
+            ofs = hint - temp;
+        } else {
+            // gallop right until array[base + hint + lastOfs] <= key < array[base + hint + ofs]
+            final int maxOfs = len - hint;
+            while (ofs < maxOfs && this.model.compare(keyArray, key, array, base + hint + ofs) >= 0) {
+                lastOfs = ofs;
+                ofs = (ofs << 1) + 1;
+                if (ofs <= 0) {
+                    ofs = maxOfs;
+                }
+            }
+            ofs = Math.min(ofs, maxOfs);
+            lastOfs += hint;
+            ofs += hint;
+        }
+
+        // binary search in array[base + lastOfs + 1, base + ofs]
+        lastOfs++;
+        while (lastOfs < ofs) {
+            final int m = lastOfs + ((ofs - lastOfs) >>> 1);
+            if (this.model.compare(keyArray, key, array, base + m) < 0) {
+                ofs = m;
+            } else {
+                lastOfs = m + 1;
+            }
+        }
+        return ofs;
+    }
+
+    /**
+     * Moves values from one array to another (or the same) array, front to back.
+     *
+     * @param from source array
+     * @param src first source position
+     * @param to target array
+     * @param dest first target position
+     * @param len number of values to move
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void moveForward(final int[] from, final int src, final int[] to, final int dest, final int len)
+            throws InterruptedException {
+        for (int k = 0; k < len; k++) {
+            this.model.setValue(to, dest + k, this.model.get(from, src + k));
+        }
+    }
+
+    /**
+     * Moves values from one array to another (or the same) array, back to front.
+     *
+     * @param from source array
+     * @param src first source position
+     * @param to target array
+     * @param dest first target position
+     * @param len number of values to move
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void moveBackward(final int[] from, final int src, final int[] to, final int dest, final int len)
+            throws InterruptedException {
+        for (int k = len - 1; k >= 0; k--) {
+            this.model.setValue(to, dest + k, this.model.get(from, src + k));
+        }
+    }
+
+    /**
+     * Merges two adjacent runs from left to right, the first one is not longer than the second one and is moved
+     * to the merge buffer. The first value of the first run is greater than the first value of the second run,
+     * and the last value of the first run is greater than all values of the second run.
+     *
+     * @param base1 start of the first run
+     * @param length1 length of the first run
+     * @param base2 start of the second run
+     * @param length2 length of the second run
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void mergeLo(final int base1, final int length1, final int base2, final int length2)
+            throws InterruptedException {
+        ensureCapacity(length1);
+        final int[] a = this.values;
+        final int[] t = this.tmp;
+        int len1 = length1;
+        int len2 = length2;
+        moveForward(a, base1, t, 0, len1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        moveForward(a, cursor2++, a, dest++, 1);
+        if (--len2 == 0) {
+            moveForward(t, cursor1, a, dest, len1);
+            return;
+        }
+        if (len1 == 1) {
+            moveForward(a, cursor2, a, dest, len2);
+            moveForward(t, cursor1, a, dest + len2, 1);
+            return;
+        }
+
+        int gallop = this.minGallop;
+        outer:
+        for (;;) {
+            // number of consecutive wins of each run
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (this.model.compare(a, cursor2, t, cursor1) < 0) {
+                    moveForward(a, cursor2++, a, dest++, 1);
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    moveForward(t, cursor1++, a, dest++, 1);
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            // one run is winning consistently, galloping may be a huge win
+            do {
+                count1 = gallopRight(a, cursor2, t, cursor1, len1, 0);
+                if (count1 != 0) {
+                    moveForward(t, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    len1 -= count1;
+                    if (len1 <= 1) {
+                        break outer;
+                    }
+                }
+                moveForward(a, cursor2++, a, dest++, 1);
+                if (--len2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft(t, cursor1, a, cursor2, len2, 0);
+                if (count2 != 0) {
+                    moveForward(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    len2 -= count2;
+                    if (len2 == 0) {
+                        break outer;
+                    }
+                }
+                moveForward(t, cursor1++, a, dest++, 1);
+                if (--len1 == 1) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            // penalize leaving the galloping mode
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        this.minGallop = Math.max(gallop, 1);
+
+        if (len1 == 1) {
+            moveForward(a, cursor2, a, dest, len2);
+            moveForward(t, cursor1, a, dest + len2, 1);
+        } else {
+            moveForward(t, cursor1, a, dest, len1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs from right to left, the second one is not longer than the first one and is moved
+     * to the merge buffer. The first value of the first run is greater than the first value of the second run,
+     * and the last value of the first run is greater than all values of the second run.
+     *
+     * @param base1 start of the first run
+     * @param length1 length of the first run
+     * @param base2 start of the second run
+     * @param length2 length of the second run
+     * @throws InterruptedException if the sorting thread was interrupted
+     */
+    private void mergeHi(final int base1, final int length1, final int base2, final int length2)
+            throws InterruptedException {
+        ensureCapacity(length2);
+        final int[] a = this.values;
+        final int[] t = this.tmp;
+        int len1 = length1;
+        int len2 = length2;
+        moveForward(a, base2, t, 0, len2);
+        int cursor1 = base1 + len1 - 1;
+        int cursor2 = len2 - 1;
+        int dest = base2 + len2 - 1;
+
+        moveForward(a, cursor1--, a, dest--, 1);
+        if (--len1 == 0) {
+            moveForward(t, 0, a, dest - (len2 - 1), len2);
+            return;
+        }
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            moveBackward(a, cursor1 + 1, a, dest + 1, len1);
+            moveForward(t, cursor2, a, dest, 1);
+            return;
+        }
+
+        int gallop = this.minGallop;
+        outer:
+        for (;;) {
+            // number of consecutive wins of each run
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (this.model.compare(t, cursor2, a, cursor1) < 0) {
+                    moveForward(a, cursor1--, a, dest--, 1);
+                    count1++;
+                    count2 = 0;
+                    if (--len1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    moveForward(t, cursor2--, a, dest--, 1);
+                    count2++;
+                    count1 = 0;
+                    if (--len2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            // one run is winning consistently, galloping may be a huge win
+            do {
+                count1 = len1 - gallopRight(t, cursor2, a, base1, len1, len1 - 1);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    len1 -= count1;
+                    moveBackward(a, cursor1 + 1, a, dest + 1, count1);
+                    if (len1 == 0) {
+                        break outer;
+                    }
+                }
+                moveForward(t, cursor2--, a, dest--, 1);
+                if (--len2 == 1) {
+                    break outer;
+                }
+
+                count2 = len2 - gallopLeft(a, cursor1, t, 0, len2, len2 - 1);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    len2 -= count2;
+                    moveForward(t, cursor2 + 1, a, dest + 1, count2);
+                    if (len2 <= 1) {
+                        break outer;
+                    }
+                }
+                moveForward(a, cursor1--, a, dest--, 1);
+                if (--len1 == 0) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            // penalize leaving the galloping mode
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        this.minGallop = Math.max(gallop, 1);
+
+        if (len2 == 1) {
+            dest -= len1;
+            cursor1 -= len1;
+            moveBackward(a, cursor1 + 1, a, dest + 1, len1);
+            moveForward(t, cursor2, a, dest, 1);
+        } else {
+            moveForward(t, 0, a, dest - (len2 - 1), len2);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import kn.uni.dbis.pk2.sorting.DataOrdering;
+import kn.uni.dbis.pk2.sorting.SortingAlgorithm;
+
+/**
+ * Headless entry point that runs sorting algorithms against data orderings over a ladder of input sizes and
+ * random seeds, and writes wall-clock and CPU times, operation counts and auxiliary memory as CSV or JSON.
+ * Independent runs can be spread over several threads, see {@link BenchmarkExecutor}.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class Benchmark {
+
+    /** Usage message. */
+    private static final String USAGE = String.join("\n",
+            "Options:",
+            "  --algorithms <A,B,...>  sorting algorithms (default: all)",
+            "  --orderings <A,B,...>   data orderings (default: all)",
+            "  --sizes <n,m,...>       input sizes (default: 1000,10000,100000)",
+            "  --seeds <s,t,...>       random seeds (default: 0)",
+            "  --max <bound>           upper bound of the values (default: input size)",
+            "  --timeout <seconds>     time limit per run (default: 60)",
+            "  --threads <n>           number of runs in parallel (default: 1)",
+            "  --format <csv|json>     output format (default: csv)",
+            "  --output <file>         output file (default: standard output)");
+
+    /** Unused. */
+    private Benchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command-line options
+     */
+    public static void main(final String[] args) {
+        final Set<SortingAlgorithm> algorithms = EnumSet.allOf(SortingAlgorithm.class);
+        final Set<DataOrdering> orderings = EnumSet.allOf(DataOrdering.class);
+        int[] sizes = { 1_000, 10_000, 100_000 };
+        long[] seeds = { 0 };
+        int max = -1;
+        long timeout = 60;
+        int threads = 1;
+        OutputFormat format = OutputFormat.CSV;
+        String output = null;
+        try {
+            if (args.length % 2 != 0) {
+                throw new IllegalArgumentException("missing value of option " + args[args.length - 1]);
+            }
+            for (int i = 0; i < args.length; i += 2) {
+                final String value = args[i + 1];
+                switch (args[i]) {
+                    case "--algorithms":
+                        algorithms.clear();
+                        for (final String name : value.split(",")) {
+                            algorithms.add(SortingAlgorithm.valueOf(name.trim()));
+                        }
+                        break;
+                    case "--orderings":
+                        orderings.clear();
+                        for (final String name : value.split(",")) {
+                            orderings.add(DataOrdering.valueOf(name.trim()));
+                        }
+                        break;
+                    case "--sizes":
+                        sizes = parseInts(value);
+                        break;
+                    case "--seeds":
+                        final int[] ints = parseInts(value);
+                        seeds = new long[ints.length];
+                        for (int j = 0; j < ints.length; j++) {
+                            seeds[j] = ints[j];
+                        }
+                        break;
+                    case "--max":
+                        max = Integer.parseInt(value);
+                        break;
+                    case "--timeout":
+                        timeout = Long.parseLong(value);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        if (threads <= 0) {
+                            throw new IllegalArgumentException("number of threads must be positive: " + value);
+                        }
+                        break;
+                    case "--format":
+                        format = OutputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+                        break;
+                    case "--output":
+                        output = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown option: " + args[i]);
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage() + "\n" + USAGE);
+            return;
+        }
+
+        final List<BenchmarkCell> cells = new ArrayList<>();
+        for (final int size : sizes) {
+            if (size <= 0) {
+                System.err.println("Input size too small: " + size + ", must be greater than 0");
+                return;
+            }
+            for (final SortingAlgorithm algorithm : algorithms) {
+                for (final DataOrdering ordering : orderings) {
+                    for (final long seed : seeds) {
+                        cells.add(new BenchmarkCell(algorithm, ordering, size, max > 0 ? max : size, seed));
+                    }
+                }
+            }
+        }
+
+        final BenchmarkExecutor executor = new BenchmarkExecutor(threads, 1000 * timeout);
+        try (PrintStream out = output == null ? System.out : new PrintStream(output, "UTF-8")) {
+            final OutputFormat fmt = format;
+            final boolean[] first = { true };
+            fmt.begin(out);
+            executor.run(cells, result -> {
+                fmt.write(out, result, first[0]);
+                first[0] = false;
+            });
+            fmt.end(out);
+        } catch (final FileNotFoundException | UnsupportedEncodingException e) {
+            System.err.println("Could not write output: " + e.getMessage());
+        } catch (final InterruptedException e) {
+            System.err.println("Interrupted");
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of integers.
+     *
+     * @param list list of integers
+     * @return parsed integers
+     * @throws NumberFormatException if an entry is not an integer
+     */
+    private static int[] parseInts(final String list) {
+        final String[] parts = list.split(",");
+        final int[] ints = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            ints[i] = Integer.parseInt(parts[i].trim());
+        }
+        return ints;
+    }
+}
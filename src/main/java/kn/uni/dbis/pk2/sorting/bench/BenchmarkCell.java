@@ -0,0 +1,181 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.DataOrdering;
+import kn.uni.dbis.pk2.sorting.HeadlessDataModel;
+import kn.uni.dbis.pk2.sorting.OperationCounts;
+import kn.uni.dbis.pk2.sorting.SortingAlgorithm;
+import kn.uni.dbis.pk2.sorting.bench.BenchmarkResult.Status;
+
+/**
+ * A single cell of the benchmark matrix: one sorting algorithm on one generated input.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class BenchmarkCell {
+
+    /** Bean for measuring the CPU time of the current thread. */
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /** Sorting algorithm. */
+    private final SortingAlgorithm algorithm;
+
+    /** Data ordering of the input. */
+    private final DataOrdering ordering;
+
+    /** Number of values to sort. */
+    private final int size;
+
+    /** Upper bound of the values. */
+    private final int max;
+
+    /** Seed of the random number generator for the input. */
+    private final long seed;
+
+    /** Flag indicating that the run has finished and must not be interrupted anymore. */
+    private boolean finished;
+
+    /**
+     * Constructor.
+     *
+     * @param algorithm sorting algorithm
+     * @param ordering data ordering of the input
+     * @param size number of values to sort
+     * @param max upper bound of the values
+     * @param seed seed of the random number generator for the input
+     */
+    public BenchmarkCell(final SortingAlgorithm algorithm, final DataOrdering ordering, final int size,
+            final int max, final long seed) {
+        this.algorithm = algorithm;
+        this.ordering = ordering;
+        this.size = size;
+        this.max = max;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the input and sorts it in the current thread. Every call uses its own input array, random number
+     * generator and data model, so that different cells can be run concurrently. All errors, including those of
+     * the input generation, are reported as a result with status {@link Status#ERROR}.
+     *
+     * @param watchdog executor used for interrupting the run after the time limit
+     * @param timeoutMillis time limit in milliseconds
+     * @return the result
+     */
+    public BenchmarkResult run(final ScheduledExecutorService watchdog, final long timeoutMillis) {
+        Status status = Status.ERROR;
+        String error = null;
+        DataModel model = null;
+        ScheduledFuture<?> timer = null;
+        long wall = 0;
+        long cpu = -1;
+        try {
+            final int[] values = new int[this.size];
+            this.ordering.fill(values, this.max, new Random(this.seed));
+            final int[] expected = values.clone();
+            Arrays.sort(expected);
+            model = new HeadlessDataModel(values);
+            model.setValueBound(this.max);
+
+            final Thread current = Thread.currentThread();
+            timer = watchdog.schedule(() -> {
+                synchronized (this) {
+                    if (!this.finished) {
+                        current.interrupt();
+                    }
+                }
+            }, timeoutMillis, TimeUnit.MILLISECONDS);
+
+            // the CPU time of the worker threads of parallel algorithms is not measured, so it is not reported
+            final boolean cpuTime = !this.algorithm.isParallel() && THREADS.isCurrentThreadCpuTimeSupported();
+            final long cpuStart = cpuTime ? THREADS.getCurrentThreadCpuTime() : 0;
+            final long start = System.nanoTime();
+            try {
+                this.algorithm.newInstance().sort(model);
+                status = Arrays.equals(values, expected) ? Status.OK : Status.WRONG;
+            } catch (final InterruptedException e) {
+                status = Status.TIMEOUT;
+            } finally {
+                wall = System.nanoTime() - start;
+                cpu = cpuTime ? THREADS.getCurrentThreadCpuTime() - cpuStart : -1;
+            }
+        } catch (final Exception | Error e) {
+            status = Status.ERROR;
+            error = e.toString();
+        } finally {
+            synchronized (this) {
+                this.finished = true;
+            }
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            // clear a pending interrupt of the watchdog
+            Thread.interrupted();
+        }
+        return model == null ? error(error)
+                : new BenchmarkResult(this, status, wall, cpu, model.getCounts(), model.getPeakAuxiliary(), error);
+    }
+
+    /**
+     * Creates a result with status {@link Status#ERROR} for a run that did not get to sort any values.
+     *
+     * @param error error message, may be {@code null}
+     * @return the result
+     */
+    public BenchmarkResult error(final String error) {
+        return new BenchmarkResult(this, Status.ERROR, 0, -1, new OperationCounts(), 0, error);
+    }
+
+    /**
+     * Returns the sorting algorithm.
+     *
+     * @return sorting algorithm
+     */
+    public SortingAlgorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Returns the data ordering of the input.
+     *
+     * @return data ordering
+     */
+    public DataOrdering getOrdering() {
+        return this.ordering;
+    }
+
+    /**
+     * Returns the number of values to sort.
+     *
+     * @return number of values
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Returns the upper bound of the values.
+     *
+     * @return upper bound
+     */
+    public int getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the seed of the random number generator for the input.
+     *
+     * @return seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+}
@@ -0,0 +1,77 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * Runs independent benchmark cells on a work-stealing pool. Every task owns the input, random number generator
+ * and data model of its cell, the results are handed to the calling thread through a concurrent queue in the
+ * order in which the runs finish.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class BenchmarkExecutor {
+
+    /** Number of worker threads. */
+    private final int threads;
+
+    /** Time limit per run in milliseconds. */
+    private final long timeoutMillis;
+
+    /**
+     * Constructor.
+     *
+     * @param threads number of worker threads
+     * @param timeoutMillis time limit per run in milliseconds
+     */
+    public BenchmarkExecutor(final int threads, final long timeoutMillis) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Runs all given cells and passes their results to the given sink, which is always called in the current
+     * thread.
+     *
+     * @param cells benchmark cells
+     * @param sink consumer of the results
+     * @throws InterruptedException if the current thread was interrupted while waiting for results
+     */
+    public void run(final List<BenchmarkCell> cells, final Consumer<BenchmarkResult> sink)
+            throws InterruptedException {
+        final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "benchmark-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final ForkJoinPool pool = new ForkJoinPool(this.threads);
+        final BlockingQueue<BenchmarkResult> results = new LinkedBlockingQueue<>();
+        try {
+            for (final BenchmarkCell cell : cells) {
+                pool.execute(() -> {
+                    // every cell has to yield exactly one result, otherwise the loop below waits forever
+                    BenchmarkResult result = null;
+                    try {
+                        result = cell.run(watchdog, this.timeoutMillis);
+                    } finally {
+                        results.add(result != null ? result : cell.error("run failed unexpectedly"));
+                    }
+                });
+            }
+            for (int i = 0; i < cells.size(); i++) {
+                sink.accept(results.take());
+            }
+        } finally {
+            pool.shutdownNow();
+            watchdog.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import kn.uni.dbis.pk2.sorting.OperationCounts;
+
+/**
+ * Result of running a single {@link BenchmarkCell}.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class BenchmarkResult {
+
+    /** Outcome of a benchmark run. */
+    public enum Status {
+        /** The values were sorted correctly. */
+        OK,
+        /** The algorithm terminated, but the values are not sorted. */
+        WRONG,
+        /** The algorithm was stopped because it exceeded the time limit. */
+        TIMEOUT,
+        /** The algorithm threw an exception. */
+        ERROR
+    }
+
+    /** The benchmark cell. */
+    private final BenchmarkCell cell;
+
+    /** Outcome of the run. */
+    private final Status status;
+
+    /** Elapsed wall-clock time in nanoseconds. */
+    private final long wallNanos;
+
+    /** CPU time of the sorting thread in nanoseconds, {@code -1} if not supported or not meaningful. */
+    private final long cpuNanos;
+
+    /** Operation counts. */
+    private final OperationCounts counts;
+
+    /** Peak number of auxiliary values. */
+    private final long auxiliary;
+
+    /** Error message, {@code null} if no error occurred. */
+    private final String error;
+
+    /**
+     * Constructor.
+     *
+     * @param cell the benchmark cell
+     * @param status outcome of the run
+     * @param wallNanos elapsed wall-clock time in nanoseconds
+     * @param cpuNanos CPU time of the sorting thread in nanoseconds, {@code -1} if not supported or not meaningful
+     * @param counts operation counts
+     * @param auxiliary peak number of auxiliary values
+     * @param error error message, may be {@code null}
+     */
+    BenchmarkResult(final BenchmarkCell cell, final Status status, final long wallNanos,
+            final long cpuNanos, final OperationCounts counts, final long auxiliary, final String error) {
+        this.cell = cell;
+        this.status = status;
+        this.wallNanos = wallNanos;
+        this.cpuNanos = cpuNanos;
+        this.counts = counts;
+        this.auxiliary = auxiliary;
+        this.error = error;
+    }
+
+    /**
+     * Returns the benchmark cell.
+     *
+     * @return the benchmark cell
+     */
+    public BenchmarkCell getCell() {
+        return this.cell;
+    }
+
+    /**
+     * Returns the outcome of the run.
+     *
+     * @return the outcome
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Returns the elapsed wall-clock time.
+     *
+     * @return wall-clock time in nanoseconds
+     */
+    public long getWallNanos() {
+        return this.wallNanos;
+    }
+
+    /**
+     * Returns the CPU time spent by the thread that ran the sorting algorithm. Unlike the wall-clock time it is
+     * not inflated when several runs compete for the available cores. Since it would not include the time of the
+     * worker threads, it is not measured for {@link kn.uni.dbis.pk2.sorting.SortingAlgorithm#isParallel()
+     * parallel} algorithms.
+     *
+     * @return CPU time in nanoseconds, or {@code -1} if the algorithm is parallel or CPU time measurement is not
+     *   supported by the JVM
+     */
+    public long getCpuNanos() {
+        return this.cpuNanos;
+    }
+
+    /**
+     * Returns the operation counts of the run.
+     *
+     * @return operation counts
+     */
+    public OperationCounts getCounts() {
+        return this.counts;
+    }
+
+    /**
+     * Returns the peak number of values held in auxiliary arrays.
+     *
+     * @return auxiliary values
+     */
+    public long getAuxiliary() {
+        return this.auxiliary;
+    }
+
+    /**
+     * Returns the error message of a failed run.
+     *
+     * @return error message, or {@code null} if no error occurred
+     */
+    public String getError() {
+        return this.error;
+    }
+}
@@ -0,0 +1,149 @@
+package kn.uni.dbis.pk2.sorting.bench;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+import kn.uni.dbis.pk2.sorting.OperationCounts;
+import kn.uni.dbis.pk2.sorting.OperationCounts.Counter;
+
+/**
+ * Enumeration of the output formats of the benchmark results.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public enum OutputFormat {
+    /** Comma-separated values with a header line. */
+    CSV {
+        @Override
+        void begin(final PrintStream out) {
+            final StringBuilder sb = new StringBuilder("algorithm,ordering,size,max,seed,status,wall_ms,cpu_ms");
+            for (final Counter counter : Counter.values()) {
+                sb.append(',').append(counter);
+            }
+            for (final Counter counter : Counter.values()) {
+                sb.append(",aux_").append(counter);
+            }
+            out.println(sb.append(",aux_values,error"));
+        }
+
+        @Override
+        void write(final PrintStream out, final BenchmarkResult result, final boolean first) {
+            final BenchmarkCell cell = result.getCell();
+            final StringBuilder sb = new StringBuilder();
+            sb.append(cell.getAlgorithm().name()).append(',').append(cell.getOrdering().name()).append(',')
+                .append(cell.getSize()).append(',').append(cell.getMax()).append(',').append(cell.getSeed())
+                .append(',').append(result.getStatus()).append(',').append(millis(result.getWallNanos()))
+                .append(',').append(millis(result.getCpuNanos()));
+            final OperationCounts counts = result.getCounts();
+            for (final Counter counter : Counter.values()) {
+                sb.append(',').append(counts.getMain(counter));
+            }
+            for (final Counter counter : Counter.values()) {
+                sb.append(',').append(counts.getAuxiliary(counter));
+            }
+            sb.append(',').append(result.getAuxiliary()).append(',');
+            if (result.getError() != null) {
+                sb.append('"').append(result.getError().replace("\"", "\"\"")).append('"');
+            }
+            out.println(sb);
+        }
+
+        @Override
+        void end(final PrintStream out) {
+            out.flush();
+        }
+    },
+
+    /** A JSON array with one object per result. */
+    JSON {
+        @Override
+        void begin(final PrintStream out) {
+            out.println('[');
+        }
+
+        @Override
+        void write(final PrintStream out, final BenchmarkResult result, final boolean first) {
+            final BenchmarkCell cell = result.getCell();
+            final StringBuilder sb = new StringBuilder(first ? "  {" : ",\n  {");
+            sb.append("\"algorithm\": ").append(string(cell.getAlgorithm().name()))
+                .append(", \"ordering\": ").append(string(cell.getOrdering().name()))
+                .append(", \"size\": ").append(cell.getSize())
+                .append(", \"max\": ").append(cell.getMax())
+                .append(", \"seed\": ").append(cell.getSeed())
+                .append(", \"status\": ").append(string(result.getStatus().name()))
+                .append(", \"wall_ms\": ").append(millis(result.getWallNanos()))
+                .append(", \"cpu_ms\": ").append(millis(result.getCpuNanos()));
+            final OperationCounts counts = result.getCounts();
+            for (final Counter counter : Counter.values()) {
+                sb.append(", \"").append(counter).append("\": ").append(counts.getMain(counter));
+            }
+            for (final Counter counter : Counter.values()) {
+                sb.append(", \"aux_").append(counter).append("\": ").append(counts.getAuxiliary(counter));
+            }
+            sb.append(", \"aux_values\": ").append(result.getAuxiliary());
+            if (result.getError() != null) {
+                sb.append(", \"error\": ").append(string(result.getError()));
+            }
+            out.print(sb.append('}'));
+        }
+
+        @Override
+        void end(final PrintStream out) {
+            out.println("\n]");
+            out.flush();
+        }
+
+        /**
+         * Creates a JSON string literal.
+         *
+         * @param str string
+         * @return string literal
+         */
+        private String string(final String str) {
+            final StringBuilder sb = new StringBuilder("\"");
+            for (final char c : str.toCharArray()) {
+                if (c == '"' || c == '\\') {
+                    sb.append('\\').append(c);
+                } else if (c < ' ') {
+                    sb.append(String.format("\\u%04x", (int) c));
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.append('"').toString();
+        }
+    };
+
+    /**
+     * Writes the start of the output.
+     *
+     * @param out output stream
+     */
+    abstract void begin(PrintStream out);
+
+    /**
+     * Writes a single result.
+     *
+     * @param out output stream
+     * @param result the result
+     * @param first flag indicating whether this is the first result
+     */
+    abstract void write(PrintStream out, BenchmarkResult result, boolean first);
+
+    /**
+     * Writes the end of the output.
+     *
+     * @param out output stream
+     */
+    abstract void end(PrintStream out);
+
+    /**
+     * Formats a duration in milliseconds.
+     *
+     * @param nanos duration in nanoseconds, negative if unknown
+     * @return formatted duration, {@code -1} if unknown
+     */
+    static String millis(final long nanos) {
+        return nanos < 0 ? "-1" : String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+}
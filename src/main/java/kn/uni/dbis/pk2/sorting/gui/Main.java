@@ -1,20 +1,24 @@
 package kn.uni.dbis.pk2.sorting.gui;
 
 import java.awt.BorderLayout;
+import java.util.Locale;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JFrame;
+import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JRadioButtonMenuItem;
 import javax.swing.JSlider;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import kn.uni.dbis.pk2.sorting.DataModel;
 import kn.uni.dbis.pk2.sorting.DataOrdering;
+import kn.uni.dbis.pk2.sorting.Pacer;
 import kn.uni.dbis.pk2.sorting.Sorter;
 import kn.uni.dbis.pk2.sorting.SortingAlgorithm;
 
@@ -30,6 +34,9 @@ public final class Main {
     /** Update frequency of the GUI in frames per second. */
     private static final int FPS = 60;
 
+    /** Number of frames between two updates of the operation rate. */
+    private static final int RATE_FRAMES = FPS / 2;
+
     /** Number of values to sort. */
     private static final int NUM_VALUES = 300;
 
@@ -145,6 +152,8 @@ public final class Main {
             timeDistribution.set(slider2.getValue());
         });
         frame.add(slider2, BorderLayout.EAST);
+        final JLabel rate = new JLabel(" ", SwingConstants.CENTER);
+        frame.add(rate, BorderLayout.NORTH);
         frame.pack();
         frame.setResizable(true);
         frame.setVisible(true);
@@ -152,10 +161,16 @@ public final class Main {
         // start the sorting process
         setSorterThread(sorterThread, algorithm.get(), model);
 
-        while (!Thread.interrupted()) {
+        for (int frames = 1; !Thread.interrupted(); frames++) {
             try {
                 Thread.sleep(1000 / FPS);
-                sortPanel.repaint();
+                sortPanel.refresh();
+                if (frames % RATE_FRAMES == 0) {
+                    final Pacer pacer = sortPanel.getDataModel().getPacer();
+                    pacer.sample();
+                    final String text = formatRate(pacer.getAchievedRate(), pacer.getRequestedRate());
+                    SwingUtilities.invokeLater(() -> rate.setText(text));
+                }
             } catch (final InterruptedException e) {
                 final Thread sort = sorterThread.get();
                 if (sort != null) {
@@ -181,7 +196,10 @@ public final class Main {
             final DataOrdering ordering, final AtomicInteger sleepTime, final AtomicInteger timeDistribution) {
         final int[] newArray = new int[numValues];
         ordering.fill(newArray, max, rng);
-        return new DataModel(newArray, sleepTime, timeDistribution);
+        final DataModel model = new DataModel(newArray, sleepTime, timeDistribution);
+        model.setValueBound(max);
+        model.publish();
+        return model;
     }
 
     /**
@@ -202,6 +220,18 @@ public final class Main {
         setSorterThread(sorterThread, algo, newModel);
     }
 
+    /**
+     * Formats the achieved and requested rate of operations.
+     *
+     * @param achieved achieved operations per second
+     * @param requested requested operations per second
+     * @return formatted rates
+     */
+    static String formatRate(final double achieved, final double requested) {
+        return String.format(Locale.ROOT, "%,.0f ops/s (requested: %s)", achieved,
+                Double.isInfinite(requested) ? "unlimited" : String.format(Locale.ROOT, "%,.0f ops/s", requested));
+    }
+
     /**
      * Returns a window title.
      *
@@ -230,6 +260,8 @@ public final class Main {
                     sorter.sort(model);
                 } catch (final InterruptedException e) {
                     // let the thread die
+                } finally {
+                    model.publish();
                 }
             }
         };
@@ -0,0 +1,110 @@
+package kn.uni.dbis.pk2.sorting.gui;
+
+import java.awt.BorderLayout;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.swing.JFrame;
+import javax.swing.JOptionPane;
+import javax.swing.JSlider;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import kn.uni.dbis.pk2.sorting.trace.TracePlayer;
+
+/**
+ * Entry point for replaying a recorded trace. The lower slider scrubs through the trace, the upper one sets the
+ * replay speed, with negative speeds replaying backwards.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class Replay {
+
+    /** Update frequency of the GUI in frames per second. */
+    private static final int FPS = 60;
+
+    /** Resolution of the position slider. */
+    private static final int STEPS = 10_000;
+
+    /** Unused. */
+    private Replay() {
+    }
+
+    /**
+     * Opens the replay window.
+     *
+     * @param args trace file and optional number of operations between two keyframes
+     */
+    public static void main(final String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Arguments: <trace file> [<keyframe interval>]");
+            return;
+        }
+        final TracePlayer player;
+        try {
+            player = args.length > 1 ? new TracePlayer(Paths.get(args[0]), Integer.parseInt(args[1]))
+                    : new TracePlayer(Paths.get(args[0]));
+        } catch (final IllegalArgumentException | IOException e) {
+            System.err.println("Could not open trace: " + e.getMessage());
+            return;
+        }
+        SwingUtilities.invokeLater(() -> show(player, args[0]));
+    }
+
+    /**
+     * Creates and shows the replay window, must be called on the event dispatch thread.
+     *
+     * @param player trace player
+     * @param name name of the trace
+     */
+    private static void show(final TracePlayer player, final String name) {
+        final JFrame frame = new JFrame();
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        final SortPanel sortPanel = new SortPanel(player.getModel(), player.getMax());
+        frame.add(sortPanel, BorderLayout.CENTER);
+        final JSlider speed = new JSlider(-100, 100, 0);
+        frame.add(speed, BorderLayout.NORTH);
+        final JSlider position = new JSlider(0, STEPS, 0);
+        frame.add(position, BorderLayout.SOUTH);
+        final long numOps = player.getNumOps();
+
+        final boolean[] updating = { false };
+        position.addChangeListener(e -> {
+            if (!updating[0]) {
+                seek(player, position.getValue() * numOps / STEPS);
+            }
+        });
+        final Timer timer = new Timer(1000 / FPS, e -> {
+            final int s = speed.getValue();
+            if (s != 0) {
+                final long opsPerFrame = (long) Math.ceil(Math.pow(10, Math.abs(s) / 20.0));
+                seek(player, player.getPosition() + Long.signum(s) * opsPerFrame);
+                updating[0] = true;
+                position.setValue((int) (numOps == 0 ? 0 : player.getPosition() * STEPS / numOps));
+                updating[0] = false;
+            }
+            frame.setTitle("Replay  —  " + name + "  —  operation " + player.getPosition() + " of " + numOps);
+            sortPanel.repaint();
+        });
+
+        frame.pack();
+        frame.setResizable(true);
+        frame.setVisible(true);
+        timer.start();
+    }
+
+    /**
+     * Moves the replay to the given operation, terminating on errors.
+     *
+     * @param player trace player
+     * @param target target operation
+     */
+    private static void seek(final TracePlayer player, final long target) {
+        try {
+            player.seek(target);
+        } catch (final IOException e) {
+            JOptionPane.showMessageDialog(null, "Could not read trace: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -10,6 +10,7 @@ import java.awt.geom.Rectangle2D;
 import javax.swing.JPanel;
 
 import kn.uni.dbis.pk2.sorting.DataModel;
+import kn.uni.dbis.pk2.sorting.Snapshot;
 
 /**
  * Panel displaying the sorting process.
@@ -17,11 +18,14 @@ import kn.uni.dbis.pk2.sorting.DataModel;
  * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
  */
 public class SortPanel extends JPanel {
+    /** Serial version UID. */
+    private static final long serialVersionUID = 1L;
+
     /** Shade of gray for each background layer. */
     private static final Color TRANSPARENT_GRAY = new Color(0, 0, 0, 20);
 
     /** Data model to sort. */
-    private DataModel model;
+    private volatile DataModel model;
 
     /** Number of rows to show. */
     private final int numRows;
@@ -50,9 +54,24 @@ public class SortPanel extends JPanel {
      * @param newModel new model
      */
     public void changeDataModel(final DataModel newModel) {
-        synchronized (model) {
-            model = newModel;
-        }
+        this.model = newModel;
+    }
+
+    /**
+     * Returns the model that is currently shown.
+     *
+     * @return the data model
+     */
+    public DataModel getDataModel() {
+        return this.model;
+    }
+
+    /**
+     * Requests a new snapshot of the current data model and schedules a repaint.
+     */
+    public void refresh() {
+        this.model.requestSnapshot();
+        repaint();
     }
 
     @Override
@@ -66,36 +85,38 @@ public class SortPanel extends JPanel {
         g2d.setColor(TRANSPARENT_GRAY);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        synchronized (model) {
-            for (final int[] area : model.getAreas()) {
-                g2d.fill(new Rectangle2D.Double(area[0] * w, 0, (area[1] - area[0]) * w, getHeight()));
-            }
+        final Snapshot frame = this.model.acquireSnapshot();
+        final int numAreas = frame.getNumAreas();
+        for (int a = 0; a < numAreas; a++) {
+            final int start = frame.getAreaStart(a);
+            g2d.fill(new Rectangle2D.Double(start * w, 0, (frame.getAreaEnd(a) - start) * w, getHeight()));
+        }
 
-            final int special = model.getSpecialValue();
-            if (special >= 0) {
-                final double top = getHeight() - (special + 1) * h;
-                g2d.fill(new Rectangle2D.Double(0, top, getWidth(), h));
-                for (final int[] area : model.getAreas()) {
-                    g2d.setColor(Color.WHITE);
-                    g2d.fill(new Rectangle2D.Double(area[0] * w, top, (area[1] - area[0]) * w, h));
-                }
+        final int special = frame.getSpecialValue();
+        if (special >= 0) {
+            final double top = getHeight() - (special + 1) * h;
+            g2d.fill(new Rectangle2D.Double(0, top, getWidth(), h));
+            for (int a = 0; a < numAreas; a++) {
+                final int start = frame.getAreaStart(a);
+                g2d.setColor(Color.WHITE);
+                g2d.fill(new Rectangle2D.Double(start * w, top, (frame.getAreaEnd(a) - start) * w, h));
             }
+        }
 
-            final int[] values = model.getValues();
-            if (model.hasCopy()) {
-                final int[] copy = model.getCopy();
-                for (int i = 0; i < copy.length; i++) {
-                    if (copy[i] != values[i]) {
-                        g2d.setColor(copy[i] == special ? Color.RED : Color.GREEN);
-                        g2d.fill(new Rectangle2D.Double(i * w, getHeight() - (copy[i] + 1) * h, w, h));
-                    }
+        final int[] values = frame.getValues();
+        final int[] copy = frame.getCopy();
+        if (copy != null) {
+            for (int i = 0; i < copy.length; i++) {
+                if (copy[i] != values[i]) {
+                    g2d.setColor(copy[i] == special ? Color.RED : Color.GREEN);
+                    g2d.fill(new Rectangle2D.Double(i * w, getHeight() - (copy[i] + 1) * h, w, h));
                 }
             }
+        }
 
-            for (int i = 0; i < values.length; i++) {
-                g2d.setColor(values[i] == special ? Color.RED : Color.BLUE);
-                g2d.fill(new Rectangle2D.Double(i * w, getHeight() - (values[i] + 1) * h, w, h));
-            }
+        for (int i = 0; i < values.length; i++) {
+            g2d.setColor(values[i] == special ? Color.RED : Color.BLUE);
+            g2d.fill(new Rectangle2D.Double(i * w, getHeight() - (values[i] + 1) * h, w, h));
         }
     }
 }
@@ -0,0 +1,122 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+import kn.uni.dbis.pk2.sorting.HeadlessDataModel;
+
+/**
+ * Headless data model that records every operation into a {@link TraceWriter}, including the highlighting
+ * operations that are not visualized. Recording is only supported for sorting algorithms running in a single
+ * thread, operations of any other thread than the one that created the model are rejected.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public class RecordingDataModel extends HeadlessDataModel {
+
+    /** Trace writer. */
+    private final TraceWriter writer;
+
+    /** The only thread that may sort the values. */
+    private final Thread thread = Thread.currentThread();
+
+    /**
+     * Creates a recording data model.
+     *
+     * @param values values to sort, must be the values the trace writer was created with
+     * @param writer trace writer
+     */
+    public RecordingDataModel(final int[] values, final TraceWriter writer) {
+        super(values);
+        this.writer = writer;
+    }
+
+    @Override
+    public void addArea(final int start, final int end) {
+        writer().addArea(start, end);
+    }
+
+    @Override
+    public void changeArea(final int stackPos, final int start, final int end) {
+        writer().changeArea(stackPos, start, end);
+    }
+
+    @Override
+    public void removeArea() {
+        writer().removeArea();
+    }
+
+    @Override
+    public void setSpecialValue(final int newValue) {
+        writer().special(newValue);
+    }
+
+    @Override
+    public void setSpecial(final int index) {
+        writer().special(index < 0 ? -1 : getValues()[index]);
+    }
+
+    @Override
+    public int[] createCopy() {
+        final int[] copy = super.createCopy();
+        writer().createCopy();
+        return copy;
+    }
+
+    @Override
+    public void destroyCopy() {
+        super.destroyCopy();
+        writer().destroyCopy();
+    }
+
+    @Override
+    public int compare(final int[] array, final int i, final int j) throws InterruptedException {
+        final int id = id(array);
+        writer().compare(id, i, id, j);
+        return super.compare(array, i, j);
+    }
+
+    @Override
+    public int compare(final int[] array1, final int i, final int[] array2, final int j)
+            throws InterruptedException {
+        writer().compare(id(array1), i, id(array2), j);
+        return super.compare(array1, i, array2, j);
+    }
+
+    @Override
+    public void swap(final int[] array, final int i, final int j) throws InterruptedException {
+        if (i != j) {
+            writer().swap(id(array), i, j);
+            super.swap(array, i, j);
+        }
+    }
+
+    @Override
+    public void setValue(final int[] array, final int pos, final int value) throws InterruptedException {
+        writer().setValue(id(array), pos, value);
+        super.setValue(array, pos, value);
+    }
+
+    /**
+     * Returns the trace writer, which is not thread-safe.
+     *
+     * @return trace writer
+     * @throws IllegalStateException if the current thread is not the one that created this model
+     */
+    private TraceWriter writer() {
+        if (Thread.currentThread() != this.thread) {
+            throw new IllegalStateException("operations can only be recorded in a single thread");
+        }
+        return this.writer;
+    }
+
+    /**
+     * Returns the trace identifier of the given array.
+     *
+     * @param array array
+     * @return identifier of the array
+     */
+    private int id(final int[] array) {
+        if (array == getValues()) {
+            return TraceFormat.VALUES;
+        }
+        return hasCopy() && array == getCopy() ? TraceFormat.COPY : TraceFormat.OTHER;
+    }
+}
@@ -0,0 +1,100 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+/**
+ * Constants of the binary trace format.
+ *
+ * <p>A trace starts with the {@link #MAGIC} number, the format {@link #VERSION}, the number of values and the
+ * initial values. It is followed by one record per operation and terminated by {@link #END}. Each record starts
+ * with a tag byte that contains the opcode in its lower four bits and the identifiers of up to two arrays
+ * ({@link #VALUES}, {@link #COPY} or {@link #OTHER}) in the upper four bits. All operands are variable-length
+ * integers: positions are stored as zig-zag encoded differences to the previous position, values as zig-zag
+ * encoded differences to the previous value.</p>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TraceFormat {
+
+    /** Magic number at the start of every trace file ({@code "SVTR"}). */
+    public static final int MAGIC = 0x53565452;
+
+    /** Version of the trace format. */
+    public static final int VERSION = 1;
+
+    /** Opcode marking the end of the trace. */
+    public static final int END = 0;
+
+    /** Opcode of a comparison, operands: first and second position, in the first and second array of the tag. */
+    public static final int COMPARE = 1;
+
+    /** Opcode of a swap, operands: first and second position. */
+    public static final int SWAP = 2;
+
+    /** Opcode of a written value, operands: position and value. */
+    public static final int SET_VALUE = 3;
+
+    /** Opcode of an added area, operands: start and end. */
+    public static final int ADD_AREA = 4;
+
+    /** Opcode of a changed area, operands: stack position, start and end. */
+    public static final int CHANGE_AREA = 5;
+
+    /** Opcode of a removed area, no operands. */
+    public static final int REMOVE_AREA = 6;
+
+    /** Opcode of a changed special value, operand: the new value. */
+    public static final int SPECIAL = 7;
+
+    /** Opcode of the creation of the auxiliary array, no operands. */
+    public static final int CREATE_COPY = 8;
+
+    /** Opcode of the destruction of the auxiliary array, no operands. */
+    public static final int DESTROY_COPY = 9;
+
+    /** Identifier of the array of values to sort. */
+    public static final int VALUES = 0;
+
+    /** Identifier of the auxiliary array created by {@code DataModel#createCopy()}. */
+    public static final int COPY = 1;
+
+    /** Identifier of any other array, operations on it are recorded but cannot be replayed. */
+    public static final int OTHER = 2;
+
+    /** Maximum number of bytes of a single record. */
+    static final int MAX_RECORD = 1 + 3 * 5;
+
+    /** Unused. */
+    private TraceFormat() {
+    }
+
+    /**
+     * Creates the tag byte of a record.
+     *
+     * @param opcode opcode
+     * @param array1 identifier of the first array
+     * @param array2 identifier of the second array
+     * @return tag byte
+     */
+    static int tag(final int opcode, final int array1, final int array2) {
+        return opcode | array1 << 4 | array2 << 6;
+    }
+
+    /**
+     * Zig-zag encodes a signed integer so that values with small magnitude have a short encoding.
+     *
+     * @param value value to encode
+     * @return encoded value
+     */
+    static int zigZag(final int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    /**
+     * Decodes a zig-zag encoded integer.
+     *
+     * @param value encoded value
+     * @return decoded value
+     */
+    static int unZigZag(final int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+}
@@ -0,0 +1,268 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kn.uni.dbis.pk2.sorting.DataModel;
+
+/**
+ * Replays a recorded trace into a {@link DataModel}, independently of the sorting algorithm that produced it.
+ * While opening the trace, the player stores a keyframe (a full copy of the model's state) every {@code K}
+ * operations, so that seeking to any operation, forwards or backwards, replays at most {@code K} operations.
+ * By default, {@code K} grows with the number of values {@code n}, since every keyframe holds up to {@code 2n}
+ * values. Instances are not thread-safe.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TracePlayer implements Closeable {
+
+    /** Minimum number of operations between two keyframes if it is chosen automatically. */
+    public static final int MIN_KEYFRAME_INTERVAL = 1 << 16;
+
+    /**
+     * Number of operations per value between two keyframes if their interval is chosen automatically, so that the
+     * keyframes hold at most half a value per operation in the trace.
+     */
+    private static final int KEYFRAME_OPS_PER_VALUE = 4;
+
+    /** Full copy of the replayed state at a certain operation. */
+    private static final class Keyframe {
+        /** Position in the trace. */
+        private final TraceReader.Mark mark;
+        /** Values to sort. */
+        private final int[] values;
+        /** Auxiliary array, {@code null} if none existed. */
+        private final int[] copy;
+        /** Highlighted areas. */
+        private final int[] areas;
+        /** Special value. */
+        private final int special;
+
+        /**
+         * Captures the current state of the given model.
+         *
+         * @param mark position in the trace
+         * @param model data model
+         */
+        Keyframe(final TraceReader.Mark mark, final DataModel model) {
+            this.mark = mark;
+            this.values = model.getValues().clone();
+            this.copy = model.hasCopy() ? model.getCopy().clone() : null;
+            this.areas = model.getAreas();
+            this.special = model.getSpecialValue();
+        }
+    }
+
+    /** Trace reader. */
+    private final TraceReader reader;
+
+    /** Number of operations between two keyframes. */
+    private final int interval;
+
+    /** Keyframes, the {@code i}-th one before operation {@code i * interval}. */
+    private final List<Keyframe> keyframes = new ArrayList<>();
+
+    /** Data model the operations are replayed into. */
+    private final DataModel model;
+
+    /** Total number of operations in the trace. */
+    private final long numOps;
+
+    /** Upper bound of the values in the trace. */
+    private final int max;
+
+    /** Number of operations already replayed into the model. */
+    private long position;
+
+    /**
+     * Opens a trace and indexes it, storing a keyframe every {@code max(MIN_KEYFRAME_INTERVAL, 4n)} operations.
+     *
+     * @param file trace file
+     * @throws IOException if the trace cannot be read
+     */
+    public TracePlayer(final Path file) throws IOException {
+        this(file, 0);
+    }
+
+    /**
+     * Opens a trace and indexes it.
+     *
+     * @param file trace file
+     * @param interval number of operations between two keyframes, {@code 0} for choosing it automatically
+     * @throws IOException if the trace cannot be read
+     */
+    public TracePlayer(final Path file, final int interval) throws IOException {
+        if (interval < 0) {
+            throw new IllegalArgumentException("keyframe interval must not be negative: " + interval);
+        }
+        this.reader = new TraceReader(file);
+        final int[] values = this.reader.getInitialValues();
+        this.interval = interval != 0 ? interval : (int) Math.min(Integer.MAX_VALUE,
+                Math.max(MIN_KEYFRAME_INTERVAL, (long) KEYFRAME_OPS_PER_VALUE * values.length));
+        int maxValue = 0;
+        for (final int value : values) {
+            maxValue = Math.max(maxValue, value);
+        }
+        this.max = maxValue + 1;
+        this.model = new DataModel(values, new AtomicInteger(0), new AtomicInteger(50));
+
+        long ops = 0;
+        for (;;) {
+            if (ops % this.interval == 0) {
+                this.keyframes.add(new Keyframe(this.reader.mark(), this.model));
+            }
+            if (!this.reader.next()) {
+                break;
+            }
+            apply();
+            ops++;
+        }
+        this.numOps = ops;
+        this.position = ops;
+        seek(0);
+    }
+
+    /**
+     * Returns the data model the trace is replayed into.
+     *
+     * @return the data model
+     */
+    public DataModel getModel() {
+        return this.model;
+    }
+
+    /**
+     * Returns the total number of operations in the trace.
+     *
+     * @return number of operations
+     */
+    public long getNumOps() {
+        return this.numOps;
+    }
+
+    /**
+     * Returns an upper bound (exclusive) of the values in the trace.
+     *
+     * @return upper bound
+     */
+    public int getMax() {
+        return this.max;
+    }
+
+    /**
+     * Returns the number of operations that have been replayed into the model.
+     *
+     * @return current position in the trace
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Moves the replay by the given number of operations and publishes the new state of the model.
+     *
+     * @param delta number of operations, negative for moving backwards
+     * @throws IOException if the trace cannot be read
+     */
+    public void step(final long delta) throws IOException {
+        seek(this.position + delta);
+    }
+
+    /**
+     * Moves the replay to the state right before the given operation and publishes the new state of the model.
+     * Positions outside of the trace are clamped to its start or end.
+     *
+     * @param target number of operations to be replayed
+     * @throws IOException if the trace cannot be read
+     */
+    public void seek(final long target) throws IOException {
+        final long pos = Math.max(0, Math.min(target, this.numOps));
+        final int frame = (int) (pos / this.interval);
+        if (pos < this.position || frame > this.position / this.interval) {
+            restore(this.keyframes.get(frame));
+        }
+        while (this.position < pos && this.reader.next()) {
+            apply();
+            this.position++;
+        }
+        this.model.publish();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * Restores the state of a keyframe.
+     *
+     * @param keyframe keyframe to restore
+     * @throws IOException if the trace cannot be read
+     */
+    private void restore(final Keyframe keyframe) throws IOException {
+        this.reader.reset(keyframe.mark);
+        this.position = keyframe.mark.getNumOps();
+        final int[] values = this.model.getValues();
+        System.arraycopy(keyframe.values, 0, values, 0, values.length);
+        if (this.model.hasCopy()) {
+            this.model.destroyCopy();
+        }
+        if (keyframe.copy != null) {
+            System.arraycopy(keyframe.copy, 0, this.model.createCopy(), 0, keyframe.copy.length);
+        }
+        this.model.clearAreas();
+        for (int i = 0; i < keyframe.areas.length; i += 2) {
+            this.model.addArea(keyframe.areas[i], keyframe.areas[i + 1]);
+        }
+        this.model.setSpecialValue(keyframe.special);
+    }
+
+    /**
+     * Applies the operation that was just read to the model. Operations on arrays other than the values and
+     * the auxiliary array are skipped.
+     */
+    private void apply() {
+        final TraceReader in = this.reader;
+        final int[] array = in.getArray1() == TraceFormat.VALUES ? this.model.getValues()
+                : in.getArray1() == TraceFormat.COPY && this.model.hasCopy() ? this.model.getCopy() : null;
+        switch (in.getOpcode()) {
+            case TraceFormat.SWAP:
+                if (array != null) {
+                    final int temp = array[in.getArg1()];
+                    array[in.getArg1()] = array[in.getArg2()];
+                    array[in.getArg2()] = temp;
+                }
+                break;
+            case TraceFormat.SET_VALUE:
+                if (array != null) {
+                    array[in.getArg1()] = in.getArg2();
+                }
+                break;
+            case TraceFormat.ADD_AREA:
+                this.model.addArea(in.getArg1(), in.getArg2());
+                break;
+            case TraceFormat.CHANGE_AREA:
+                this.model.changeArea(in.getArg3(), in.getArg1(), in.getArg2());
+                break;
+            case TraceFormat.REMOVE_AREA:
+                this.model.removeArea();
+                break;
+            case TraceFormat.SPECIAL:
+                this.model.setSpecialValue(in.getArg1());
+                break;
+            case TraceFormat.CREATE_COPY:
+                this.model.createCopy();
+                break;
+            case TraceFormat.DESTROY_COPY:
+                this.model.destroyCopy();
+                break;
+            default:
+                // comparisons do not change the state
+                break;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader for traces in the binary {@link TraceFormat trace format}. The file is memory-mapped in
+ * windows, so that traces larger than two gigabytes can be read. Instances are not thread-safe.
+ *
+ * <p>After a successful call of {@link #next()} the operation is described by its {@link #getOpcode() opcode},
+ * the identifiers of the involved arrays and up to three arguments:</p>
+ * <ul>
+ *   <li>{@link TraceFormat#COMPARE} and {@link TraceFormat#SWAP}: the two positions,</li>
+ *   <li>{@link TraceFormat#SET_VALUE}: the position and the value,</li>
+ *   <li>{@link TraceFormat#ADD_AREA}: start and end of the area,</li>
+ *   <li>{@link TraceFormat#CHANGE_AREA}: start and end of the area, and its position on the stack,</li>
+ *   <li>{@link TraceFormat#SPECIAL}: the special value.</li>
+ * </ul>
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TraceReader implements Closeable {
+
+    /** Position in a trace that the reader can be reset to. */
+    public static final class Mark {
+        /** Offset of the next record in the file. */
+        private final long offset;
+        /** Last read position. */
+        private final int lastPos;
+        /** Last read value. */
+        private final int lastValue;
+        /** Number of operations read before the mark. */
+        private final long numOps;
+
+        /**
+         * Constructor.
+         *
+         * @param offset offset of the next record in the file
+         * @param lastPos last read position
+         * @param lastValue last read value
+         * @param numOps number of operations read before the mark
+         */
+        Mark(final long offset, final int lastPos, final int lastValue, final long numOps) {
+            this.offset = offset;
+            this.lastPos = lastPos;
+            this.lastValue = lastValue;
+            this.numOps = numOps;
+        }
+
+        /**
+         * Returns the number of operations read before this mark.
+         *
+         * @return number of operations
+         */
+        public long getNumOps() {
+            return this.numOps;
+        }
+    }
+
+    /** Size of the memory-mapped windows. */
+    private static final long WINDOW_SIZE = 1L << 26;
+
+    /** Input channel. */
+    private final FileChannel channel;
+
+    /** Size of the trace file. */
+    private final long size;
+
+    /** Initial values of the sorting run. */
+    private final int[] initialValues;
+
+    /** Currently mapped window of the file. */
+    private MappedByteBuffer window;
+
+    /** Offset of the current window in the file. */
+    private long windowStart;
+
+    /** Last read position. */
+    private int lastPos;
+
+    /** Last read value. */
+    private int lastValue;
+
+    /** Number of operations read so far. */
+    private long numOps;
+
+    /** Opcode of the current operation. */
+    private int opcode = -1;
+
+    /** Tag byte of the current operation. */
+    private int tag;
+
+    /** First argument of the current operation. */
+    private int arg1;
+
+    /** Second argument of the current operation. */
+    private int arg2;
+
+    /** Third argument of the current operation. */
+    private int arg3;
+
+    /**
+     * Opens a trace file and reads its header.
+     *
+     * @param file trace file
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public TraceReader(final Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = this.channel.size();
+        map(0);
+        final int magic = (nextByte() & 0xFF) << 24 | (nextByte() & 0xFF) << 16 | (nextByte() & 0xFF) << 8
+                | nextByte() & 0xFF;
+        if (magic != TraceFormat.MAGIC) {
+            this.channel.close();
+            throw new IOException("not a trace file: " + file);
+        }
+        final int version = nextByte();
+        if (version != TraceFormat.VERSION) {
+            this.channel.close();
+            throw new IOException("unsupported trace version: " + version);
+        }
+        this.initialValues = new int[nextVarInt()];
+        for (int i = 0; i < this.initialValues.length; i++) {
+            this.initialValues[i] = nextValue();
+        }
+    }
+
+    /**
+     * Returns a copy of the initial values of the sorting run.
+     *
+     * @return initial values
+     */
+    public int[] getInitialValues() {
+        return this.initialValues.clone();
+    }
+
+    /**
+     * Reads the next operation.
+     *
+     * @return {@code true} if an operation was read, {@code false} if the end of the trace was reached
+     * @throws IOException if the trace is truncated or corrupt
+     */
+    public boolean next() throws IOException {
+        if (this.opcode == TraceFormat.END) {
+            return false;
+        }
+        this.tag = nextByte() & 0xFF;
+        this.opcode = this.tag & 0xF;
+        switch (this.opcode) {
+            case TraceFormat.END:
+                return false;
+            case TraceFormat.COMPARE:
+            case TraceFormat.SWAP:
+            case TraceFormat.ADD_AREA:
+                nextPositions();
+                break;
+            case TraceFormat.SET_VALUE:
+                this.arg1 = nextPos();
+                this.arg2 = nextValue();
+                break;
+            case TraceFormat.CHANGE_AREA:
+                this.arg3 = nextVarInt();
+                nextPositions();
+                break;
+            case TraceFormat.SPECIAL:
+                this.arg1 = nextValue();
+                break;
+            case TraceFormat.REMOVE_AREA:
+            case TraceFormat.CREATE_COPY:
+            case TraceFormat.DESTROY_COPY:
+                break;
+            default:
+                throw new IOException("unknown opcode " + this.opcode + " at offset " + (getOffset() - 1));
+        }
+        this.numOps++;
+        return true;
+    }
+
+    /**
+     * Returns the opcode of the current operation.
+     *
+     * @return opcode
+     */
+    public int getOpcode() {
+        return this.opcode;
+    }
+
+    /**
+     * Returns the identifier of the first array of the current operation.
+     *
+     * @return array identifier
+     */
+    public int getArray1() {
+        return this.tag >>> 4 & 0x3;
+    }
+
+    /**
+     * Returns the identifier of the second array of the current operation.
+     *
+     * @return array identifier
+     */
+    public int getArray2() {
+        return this.tag >>> 6 & 0x3;
+    }
+
+    /**
+     * Returns the first argument of the current operation.
+     *
+     * @return first argument
+     */
+    public int getArg1() {
+        return this.arg1;
+    }
+
+    /**
+     * Returns the second argument of the current operation.
+     *
+     * @return second argument
+     */
+    public int getArg2() {
+        return this.arg2;
+    }
+
+    /**
+     * Returns the third argument of the current operation.
+     *
+     * @return third argument
+     */
+    public int getArg3() {
+        return this.arg3;
+    }
+
+    /**
+     * Returns the number of operations read so far.
+     *
+     * @return number of operations
+     */
+    public long getNumOps() {
+        return this.numOps;
+    }
+
+    /**
+     * Marks the current position in the trace.
+     *
+     * @return the mark
+     */
+    public Mark mark() {
+        return new Mark(getOffset(), this.lastPos, this.lastValue, this.numOps);
+    }
+
+    /**
+     * Resets this reader to a previously marked position.
+     *
+     * @param mark mark created by this reader
+     * @throws IOException if the file cannot be mapped
+     */
+    public void reset(final Mark mark) throws IOException {
+        if (mark.offset >= this.windowStart && mark.offset < this.windowStart + this.window.limit()) {
+            this.window.position((int) (mark.offset - this.windowStart));
+        } else {
+            map(mark.offset);
+        }
+        this.lastPos = mark.lastPos;
+        this.lastValue = mark.lastValue;
+        this.numOps = mark.numOps;
+        this.opcode = -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Returns the current offset in the file.
+     *
+     * @return offset in bytes
+     */
+    private long getOffset() {
+        return this.windowStart + this.window.position();
+    }
+
+    /**
+     * Maps the window starting at the given offset.
+     *
+     * @param offset offset of the window
+     * @throws IOException if mapping fails
+     */
+    private void map(final long offset) throws IOException {
+        this.windowStart = offset;
+        this.window = this.channel.map(MapMode.READ_ONLY, offset, Math.min(WINDOW_SIZE, this.size - offset));
+    }
+
+    /**
+     * Reads the next byte, mapping the next window if necessary.
+     *
+     * @return the byte
+     * @throws IOException if the end of the file was reached
+     */
+    private byte nextByte() throws IOException {
+        if (!this.window.hasRemaining()) {
+            final long offset = getOffset();
+            if (offset >= this.size) {
+                throw new IOException("unexpected end of trace");
+            }
+            map(offset);
+        }
+        return this.window.get();
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @return the integer
+     * @throws IOException if the trace is truncated
+     */
+    private int nextVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0;; shift += 7) {
+            final byte b = nextByte();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Reads two positions into the first and second argument.
+     *
+     * @throws IOException if the trace is truncated
+     */
+    private void nextPositions() throws IOException {
+        this.arg1 = nextPos();
+        this.arg2 = this.arg1 + TraceFormat.unZigZag(nextVarInt());
+    }
+
+    /**
+     * Reads a position relative to the last one.
+     *
+     * @return the position
+     * @throws IOException if the trace is truncated
+     */
+    private int nextPos() throws IOException {
+        this.lastPos += TraceFormat.unZigZag(nextVarInt());
+        return this.lastPos;
+    }
+
+    /**
+     * Reads a value relative to the last one.
+     *
+     * @return the value
+     * @throws IOException if the trace is truncated
+     */
+    private int nextValue() throws IOException {
+        this.lastValue += TraceFormat.unZigZag(nextVarInt());
+        return this.lastValue;
+    }
+}
@@ -0,0 +1,97 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import kn.uni.dbis.pk2.sorting.DataOrdering;
+import kn.uni.dbis.pk2.sorting.Sorter;
+import kn.uni.dbis.pk2.sorting.SortingAlgorithm;
+
+/**
+ * Records the operations of a complete sorting run into a trace file, without visualizing it.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TraceRecorder {
+
+    /** Usage message. */
+    private static final String USAGE = "Arguments: <algorithm> <ordering> <number of values> <upper bound> "
+            + "<trace file> [<seed>]";
+
+    /** Unused. */
+    private TraceRecorder() {
+    }
+
+    /**
+     * Records a sorting run.
+     *
+     * @param args algorithm, data ordering, number of values, upper bound, output file and optional seed
+     */
+    public static void main(final String[] args) {
+        if (args.length < 5 || args.length > 6) {
+            System.err.println(USAGE);
+            return;
+        }
+        final SortingAlgorithm algorithm;
+        final DataOrdering ordering;
+        final int numValues;
+        final int max;
+        final long seed;
+        try {
+            algorithm = SortingAlgorithm.valueOf(args[0]);
+            ordering = DataOrdering.valueOf(args[1]);
+            numValues = Integer.parseInt(args[2]);
+            max = Integer.parseInt(args[3]);
+            seed = args.length > 5 ? Long.parseLong(args[5]) : System.nanoTime();
+        } catch (final IllegalArgumentException e) {
+            System.err.println(USAGE + "\n" + e.getMessage());
+            return;
+        }
+        if (algorithm.isParallel()) {
+            System.err.println(USAGE + "\nparallel algorithms cannot be recorded: " + algorithm.name());
+            return;
+        }
+        if (numValues <= 0 || max <= 0) {
+            System.err.println(USAGE + "\nnumber of values and upper bound must be greater than 0");
+            return;
+        }
+
+        final int[] values = new int[numValues];
+        ordering.fill(values, max, new Random(seed));
+        try {
+            final long start = System.nanoTime();
+            final long ops = record(algorithm.newInstance(), values, max, Paths.get(args[4]));
+            System.out.printf("%s vs. %s: recorded %d operations in %.3f s%n", algorithm, ordering, ops,
+                    (System.nanoTime() - start) / 1e9);
+        } catch (final IOException e) {
+            System.err.println("Could not write trace: " + e.getMessage());
+        } catch (final InterruptedException e) {
+            System.err.println("Interrupted");
+        }
+    }
+
+    /**
+     * Sorts the given values and records all operations into the given file. The sorter must run in the current
+     * thread only, since the trace has a single stream of operations and a single stack of areas.
+     *
+     * @param sorter sorting algorithm
+     * @param values values to sort
+     * @param max exclusive upper bound of the values, {@code -1} if it is unknown
+     * @param file trace file
+     * @return number of recorded operations
+     * @throws IOException if the trace cannot be written
+     * @throws InterruptedException if the sorting thread was interrupted
+     * @throws IllegalStateException if the sorter uses other threads
+     */
+    public static long record(final Sorter sorter, final int[] values, final int max,
+            final Path file) throws IOException, InterruptedException {
+        try (TraceWriter writer = new TraceWriter(file, values)) {
+            final RecordingDataModel model = new RecordingDataModel(values, writer);
+            model.setValueBound(max);
+            sorter.sort(model);
+            return writer.getNumOps();
+        }
+    }
+}
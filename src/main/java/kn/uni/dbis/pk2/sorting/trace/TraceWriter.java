@@ -0,0 +1,249 @@
+package kn.uni.dbis.pk2.sorting.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes operations of a sorting run in the binary {@link TraceFormat trace format}. Records are collected in a
+ * large direct buffer and written to the file channel in batches. Instances are not thread-safe.
+ *
+ * @author Leo Woerteler &lt;leonard.woerteler@uni-konstanz.de&gt;
+ */
+public final class TraceWriter implements Closeable {
+
+    /** Size of the write buffer. */
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    /** Output channel. */
+    private final FileChannel channel;
+
+    /** Write buffer. */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /** Last written position. */
+    private int lastPos;
+
+    /** Last written value. */
+    private int lastValue;
+
+    /** Number of written operations. */
+    private long numOps;
+
+    /**
+     * Creates a trace file and writes its header.
+     *
+     * @param file file to write to, overwritten if it exists
+     * @param values initial values of the sorting run
+     * @throws IOException if the file cannot be written
+     */
+    public TraceWriter(final Path file, final int[] values) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer.putInt(TraceFormat.MAGIC);
+        this.buffer.put((byte) TraceFormat.VERSION);
+        putVarInt(values.length);
+        for (final int value : values) {
+            reserve();
+            putValue(value);
+        }
+    }
+
+    /**
+     * Records a comparison.
+     *
+     * @param array1 identifier of the array of the first value
+     * @param i position of the first value
+     * @param array2 identifier of the array of the second value
+     * @param j position of the second value
+     */
+    public void compare(final int array1, final int i, final int array2, final int j) {
+        begin(TraceFormat.tag(TraceFormat.COMPARE, array1, array2));
+        putPositions(i, j);
+    }
+
+    /**
+     * Records a swap.
+     *
+     * @param array identifier of the array
+     * @param i position of the first value
+     * @param j position of the second value
+     */
+    public void swap(final int array, final int i, final int j) {
+        begin(TraceFormat.tag(TraceFormat.SWAP, array, array));
+        putPositions(i, j);
+    }
+
+    /**
+     * Records a written value.
+     *
+     * @param array identifier of the array
+     * @param pos position of the value
+     * @param value the new value
+     */
+    public void setValue(final int array, final int pos, final int value) {
+        begin(TraceFormat.tag(TraceFormat.SET_VALUE, array, array));
+        putPos(pos);
+        putValue(value);
+    }
+
+    /**
+     * Records an added area.
+     *
+     * @param start start of the area
+     * @param end end of the area
+     */
+    public void addArea(final int start, final int end) {
+        begin(TraceFormat.ADD_AREA);
+        putPositions(start, end);
+    }
+
+    /**
+     * Records a changed area.
+     *
+     * @param stackPos position of the area on the stack
+     * @param start new start of the area
+     * @param end new end of the area
+     */
+    public void changeArea(final int stackPos, final int start, final int end) {
+        begin(TraceFormat.CHANGE_AREA);
+        putVarInt(stackPos);
+        putPositions(start, end);
+    }
+
+    /**
+     * Records a removed area.
+     */
+    public void removeArea() {
+        begin(TraceFormat.REMOVE_AREA);
+    }
+
+    /**
+     * Records a new special value.
+     *
+     * @param value the special value, {@code -1} for none
+     */
+    public void special(final int value) {
+        begin(TraceFormat.SPECIAL);
+        putValue(value);
+    }
+
+    /**
+     * Records the creation of the auxiliary array.
+     */
+    public void createCopy() {
+        begin(TraceFormat.CREATE_COPY);
+    }
+
+    /**
+     * Records the destruction of the auxiliary array.
+     */
+    public void destroyCopy() {
+        begin(TraceFormat.DESTROY_COPY);
+    }
+
+    /**
+     * Returns the number of recorded operations.
+     *
+     * @return number of operations
+     */
+    public long getNumOps() {
+        return this.numOps;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.buffer.put((byte) TraceFormat.END);
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Starts a new record by writing its tag byte.
+     *
+     * @param tag tag byte of the record
+     */
+    private void begin(final int tag) {
+        reserve();
+        this.buffer.put((byte) tag);
+        this.numOps++;
+    }
+
+    /**
+     * Makes sure that the buffer has space for another record.
+     */
+    private void reserve() {
+        if (this.buffer.remaining() < TraceFormat.MAX_RECORD + 1) {
+            try {
+                flush();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes the contents of the buffer to the channel.
+     *
+     * @throws IOException if writing fails
+     */
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    /**
+     * Writes two positions, the first relative to the last written one and the second relative to the first.
+     *
+     * @param i first position
+     * @param j second position
+     */
+    private void putPositions(final int i, final int j) {
+        putPos(i);
+        putVarInt(TraceFormat.zigZag(j - i));
+    }
+
+    /**
+     * Writes a position relative to the last written one.
+     *
+     * @param pos position
+     */
+    private void putPos(final int pos) {
+        putVarInt(TraceFormat.zigZag(pos - this.lastPos));
+        this.lastPos = pos;
+    }
+
+    /**
+     * Writes a value relative to the last written one.
+     *
+     * @param value value
+     */
+    private void putValue(final int value) {
+        putVarInt(TraceFormat.zigZag(value - this.lastValue));
+        this.lastValue = value;
+    }
+
+    /**
+     * Writes an unsigned variable-length integer, seven bits per byte.
+     *
+     * @param value value to write
+     */
+    private void putVarInt(final int value) {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            this.buffer.put((byte) (rest & 0x7F | 0x80));
+            rest >>>= 7;
+        }
+        this.buffer.put((byte) rest);
+    }
+}